@@ -0,0 +1,209 @@
+package org.rocman.candidate.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load driver for a running instance: for each concurrency level, that many clients send logins
+ * or CV uploads back to back for a fixed time. It prints throughput, latency percentiles and status counts per
+ * level and the highest level that stayed within the p99 and error targets. Run it once against an instance
+ * started with {@code spring.threads.virtual.enabled=false} and once with {@code true} (Java 21+).
+ * <p>
+ * The instance should run with {@code auth.rate-limit.enabled=false}, otherwise the per-IP login limit is
+ * what gets measured.
+ * <pre>
+ * mvn -Pbenchmark -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=org.rocman.candidate.benchmarks.BlockingIoLoadTest \
+ *     -Dexec.args="scenario=login url=http://localhost:8080 email=load@example.com password=secret levels=50,100,200,400"
+ * </pre>
+ * Scenarios: {@code login} (POST /api/auth/login) and {@code upload} (POST /api/candidates/upload-cv with a
+ * generated PDF, authenticated with one token obtained up front; measures acceptance, the pipeline runs in
+ * the background).
+ */
+public class BlockingIoLoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client;
+    private final String url;
+    private final String scenario;
+    private final String email;
+    private final String password;
+    private byte[] uploadBody;
+    private String uploadBoundary;
+    private String token;
+
+    private BlockingIoLoadTest(Map<String, String> args) {
+        this.url = args.getOrDefault("url", "http://localhost:8080");
+        this.scenario = args.getOrDefault("scenario", "login");
+        this.email = args.getOrDefault("email", "load@example.com");
+        this.password = args.getOrDefault("password", "secret");
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "load-http");
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> args = new HashMap<>();
+        for (String arg : argv) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                args.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int[] levels = Arrays.stream(args.getOrDefault("levels", "25,50,100,200,400").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(args.getOrDefault("duration-seconds", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(args.getOrDefault("warmup-seconds", "10")));
+        long p99TargetMs = Long.parseLong(args.getOrDefault("p99-target-ms", "1000"));
+        double maxErrorRate = Double.parseDouble(args.getOrDefault("max-error-rate", "0.01"));
+
+        BlockingIoLoadTest test = new BlockingIoLoadTest(args);
+        test.prepare();
+
+        System.out.printf("scenario=%s url=%s duration=%ss p99Target=%dms%n",
+                test.scenario, test.url, duration.toSeconds(), p99TargetMs);
+        test.run(levels[0], warmup);
+
+        System.out.printf("%8s %10s %8s %8s %8s %8s %8s %8s %8s%n",
+                "clients", "req/s", "p50ms", "p99ms", "2xx", "429", "503", "other", "errors");
+        int sustained = 0;
+        for (int level : levels) {
+            Result result = test.run(level, duration);
+            System.out.printf("%8d %10.1f %8d %8d %8d %8d %8d %8d %8d%n",
+                    level, result.throughput(), result.percentileMs(0.50), result.percentileMs(0.99),
+                    result.ok(), result.tooMany(), result.unavailable(), result.other(), result.errors());
+            if (result.percentileMs(0.99) <= p99TargetMs && result.errorRate() <= maxErrorRate) {
+                sustained = level;
+            }
+        }
+        System.out.printf("sustained concurrency (p99 <= %dms, errors <= %.1f%%): %d%n",
+                p99TargetMs, maxErrorRate * 100, sustained);
+    }
+
+    private void prepare() throws Exception {
+        if (!"upload".equals(scenario)) {
+            return;
+        }
+        HttpResponse<String> login = login();
+        Matcher matcher = TOKEN.matcher(login.body());
+        if (login.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login for upload scenario failed: " + login.statusCode() + " " + login.body());
+        }
+        token = matcher.group(1);
+        uploadBoundary = "----load-" + UUID.randomUUID();
+        uploadBody = multipart(uploadBoundary, "cv.pdf", CVFixtures.pdf(CVFixtures.cvLines(5)));
+    }
+
+    private Result run(int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        // 0: 2xx, 1: 429, 2: 503, 3: other status, 4: transport errors
+        AtomicLongArray statuses = new AtomicLongArray(5);
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < deadline) {
+                    long requestStartedAt = System.nanoTime();
+                    try {
+                        int status = "upload".equals(scenario) ? upload().statusCode() : login().statusCode();
+                        statuses.incrementAndGet(status / 100 == 2 ? 0 : status == 429 ? 1 : status == 503 ? 2 : 3);
+                    } catch (IOException e) {
+                        statuses.incrementAndGet(4);
+                    }
+                    latencies.add(System.nanoTime() - requestStartedAt);
+                }
+                return latencies;
+            }));
+        }
+
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            all.addAll(future.get());
+        }
+        pool.shutdown();
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted, elapsedNanos, statuses.get(0), statuses.get(1), statuses.get(2),
+                statuses.get(3), statuses.get(4));
+    }
+
+    private HttpResponse<String> login() throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<Void> upload() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/candidates/upload-cv"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + uploadBoundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static byte[] multipart(String boundary, String filename, byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(content);
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private record Result(long[] sortedLatencies, long elapsedNanos, long ok, long tooMany, long unavailable,
+                          long other, long errors) {
+
+        double throughput() {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        long percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000;
+        }
+
+        double errorRate() {
+            long total = sortedLatencies.length;
+            return total == 0 ? 1 : (double) (total - ok) / total;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.rocman.candidate.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds CV documents in memory so the benchmarks do not depend on binary fixtures checked into the repo.
+ */
+final class CVFixtures {
+
+    private CVFixtures() {
+    }
+
+    static List<String> cvLines(int experienceEntries) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Jane Doe");
+        lines.add("Email: jane.doe@example.com | Phone: +40712345678");
+        lines.add("Address: Strada Lalelelor 12, Chisinau");
+        lines.add("EDUCATION");
+        lines.add("Master in Computer Science, Technical University of Moldova, 2014-2016");
+        lines.add("Bachelor in Informatics, State University of Moldova, 2010-2014");
+        lines.add("EXPERIENCE");
+        for (int i = 0; i < experienceEntries; i++) {
+            lines.add("Senior Java Developer, Company " + i + ", " + (2000 + i % 24) + "-" + (2001 + i % 24));
+            lines.add("Built Spring Boot services, PostgreSQL schemas and Kafka pipelines for team " + i + ".");
+        }
+        lines.add("SKILLS");
+        lines.add("Java, Spring Boot, Hibernate, PostgreSQL, Docker, Kubernetes, JavaScript, React");
+        lines.add("LANGUAGES");
+        lines.add("Romanian C2, English C1, French B2, Russian B1");
+        return lines;
+    }
+
+    static byte[] pdf(List<String> lines) throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = PDType1Font.HELVETICA;
+            int linesPerPage = 45;
+            for (int start = 0; start < lines.size(); start += linesPerPage) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(40, 750);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + linesPerPage))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] docx(List<String> lines) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String line : lines) {
+                document.createParagraph().createRun().setText(line);
+            }
+            document.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    static byte[] odt(List<String> lines) throws IOException {
+        StringBuilder content = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<office:document-content xmlns:office=\"urn:oasis:names:tc:opendocument:xmlns:office:1.0\" ")
+                .append("xmlns:text=\"urn:oasis:names:tc:opendocument:xmlns:text:1.0\" office:version=\"1.2\">")
+                .append("<office:body><office:text>");
+        for (String line : lines) {
+            content.append("<text:p>").append(line.replace("&", "&amp;").replace("<", "&lt;")).append("</text:p>");
+        }
+        content.append("</office:text></office:body></office:document-content>");
+
+        String manifest = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<manifest:manifest xmlns:manifest=\"urn:oasis:names:tc:opendocument:xmlns:manifest:1.0\" manifest:version=\"1.2\">"
+                + "<manifest:file-entry manifest:full-path=\"/\" manifest:media-type=\"application/vnd.oasis.opendocument.text\"/>"
+                + "<manifest:file-entry manifest:full-path=\"content.xml\" manifest:media-type=\"text/xml\"/>"
+                + "</manifest:manifest>";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            byte[] mimetype = "application/vnd.oasis.opendocument.text".getBytes(StandardCharsets.US_ASCII);
+            ZipEntry mimetypeEntry = new ZipEntry("mimetype");
+            mimetypeEntry.setMethod(ZipEntry.STORED);
+            mimetypeEntry.setSize(mimetype.length);
+            CRC32 crc = new CRC32();
+            crc.update(mimetype);
+            mimetypeEntry.setCrc(crc.getValue());
+            zip.putNextEntry(mimetypeEntry);
+            zip.write(mimetype);
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("META-INF/manifest.xml"));
+            zip.write(manifest.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+
+            zip.putNextEntry(new ZipEntry("content.xml"));
+            zip.write(content.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,38 @@
+package org.rocman.candidate.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.utils.CVParserUtil;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CVParserBenchmark {
+
+    @Param({"pdf", "docx", "odt"})
+    public String format;
+
+    @Param({"10", "200"})
+    public int experienceEntries;
+
+    private byte[] document;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<String> lines = CVFixtures.cvLines(experienceEntries);
+        document = switch (format) {
+            case "pdf" -> CVFixtures.pdf(lines);
+            case "docx" -> CVFixtures.docx(lines);
+            case "odt" -> CVFixtures.odt(lines);
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    @Benchmark
+    public String extractText() {
+        return CVParserUtil.extractText(new ByteArrayInputStream(document));
+    }
+}
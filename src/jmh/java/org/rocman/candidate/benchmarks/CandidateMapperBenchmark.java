@@ -0,0 +1,48 @@
+package org.rocman.candidate.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.entities.*;
+import org.rocman.candidate.mapper.CandidateMapper;
+import org.rocman.candidate.mapper.CandidateMapperImpl;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CandidateMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int entriesPerCollection;
+
+    private final CandidateMapper mapper = new CandidateMapperImpl();
+    private Candidate candidate;
+
+    @Setup
+    public void setUp() {
+        candidate = new Candidate();
+        candidate.setId(1L);
+        candidate.setEmail("jane.doe@example.com");
+        candidate.setFirstName("Jane");
+        candidate.setLastName("Doe");
+        candidate.setPhoneNumber("+40712345678");
+        candidate.setAddress("Strada Lalelelor 12, Chisinau");
+
+        for (long i = 0; i < entriesPerCollection; i++) {
+            candidate.getEducations().add(Education.builder()
+                    .id(i).level("Master").institution("University " + i).period("2014-2016").candidate(candidate).build());
+            candidate.getExperiences().add(Experience.builder()
+                    .id(i).title("Developer").company("Company " + i).period("2016-2020").candidate(candidate).build());
+            candidate.getSkills().add(Skill.builder()
+                    .id(i).name("Skill " + i).candidate(candidate).build());
+            candidate.getLanguages().add(Language.builder()
+                    .id(i).language("Language " + i).level("B2").candidate(candidate).build());
+        }
+    }
+
+    @Benchmark
+    public CandidateProfileDTO toDto() {
+        return mapper.toDto(candidate);
+    }
+}
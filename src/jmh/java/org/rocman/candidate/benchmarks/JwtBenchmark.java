@@ -0,0 +1,41 @@
+package org.rocman.candidate.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.utils.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    /**
+     * 0 disables the verified-token cache, so validation pays for the full signature check every time.
+     */
+    @Param({"0", "10000"})
+    public int verifiedCacheEntries;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String secret = Base64.getEncoder().encodeToString("benchmark-secret-benchmark-secret".getBytes());
+        jwtUtil = new JwtUtil(secret, verifiedCacheEntries);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", 3_600_000L);
+        token = jwtUtil.generateToken("jane.doe@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("jane.doe@example.com");
+    }
+
+    @Benchmark
+    public JwtUtil.TokenValidationStatus validateTokenDetailed() {
+        return jwtUtil.validateTokenDetailed(token);
+    }
+}
@@ -0,0 +1,97 @@
+package org.rocman.candidate.benchmarks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one authenticated request: the MDC set by LoggingInterceptor, the filter's debug line, a
+ * controller info line and the Hibernate SQL statement, with the development configuration (synchronous,
+ * pattern layout, DEBUG for the application) and the production one (async loggers, JSON layout, INFO).
+ * {@code timestampArgument} adds the {@code LocalDateTime.now()} argument the log lines used to carry.
+ * Console output goes to a null stream, files to a temporary directory.
+ * <p>
+ * Each iteration is a burst of {@value #BURST} requests followed by a pause that lets the writer (and the
+ * rollover compression) catch up, the way a server sees load below saturation; a score in microseconds per
+ * burst therefore reads as nanoseconds per request. A full ring buffer blocks here instead of dropping events.
+ * Pass no -wi/-i so the iteration counts below apply:
+ * <pre>
+ * mvn -Pbenchmark -DskipTests verify -Djmh.args="LoggingBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 30, batchSize = LoggingBenchmark.BURST)
+@Measurement(iterations = 30, batchSize = LoggingBenchmark.BURST)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.asyncQueueFullPolicy=Default")
+public class LoggingBenchmark {
+
+    static final int BURST = 1000;
+
+    @Param({"log4j2.xml", "log4j2-prod.xml"})
+    public String config;
+
+    @Param({"true", "false"})
+    public boolean timestampArgument;
+
+    private PrintStream stdout;
+    private LoggerContext context;
+    private Logger filterLog;
+    private Logger controllerLog;
+    private Logger sqlLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("LOG_PATH", Files.createTempDirectory("logging-benchmark").toString());
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        context = Configurator.initialize("benchmark", "classpath:" + config);
+        filterLog = context.getLogger("org.rocman.candidate.security.JwtAuthenticationFilter");
+        controllerLog = context.getLogger("org.rocman.candidate.controller.AuthController");
+        sqlLog = context.getLogger("org.hibernate.SQL");
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Configurator.shutdown(context);
+        System.setOut(stdout);
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public void request() {
+        ThreadContext.put("ip", "203.0.113.7");
+        ThreadContext.put("requestId", UUID.randomUUID().toString());
+        ThreadContext.put("userId", "42");
+        ThreadContext.put("userEmail", "j***@example.com");
+        if (timestampArgument) {
+            filterLog.debug("Authentication successful | user={} | ip={} | timestamp={}",
+                    "j***@example.com", "203.0.113.7", LocalDateTime.now());
+            sqlLog.debug("select c1_0.id,c1_0.email,c1_0.first_name,c1_0.last_name from candidates c1_0 where c1_0.id=?");
+            controllerLog.info("Successful login | user={} | ip={} | timestamp={}",
+                    "j***@example.com", "203.0.113.7", LocalDateTime.now());
+        } else {
+            filterLog.debug("Authentication successful | user={} | ip={}", "j***@example.com", "203.0.113.7");
+            sqlLog.debug("select c1_0.id,c1_0.email,c1_0.first_name,c1_0.last_name from candidates c1_0 where c1_0.id=?");
+            controllerLog.info("Successful login | user={} | ip={}", "j***@example.com", "203.0.113.7");
+        }
+        ThreadContext.clearAll();
+    }
+}
@@ -0,0 +1,184 @@
+package org.rocman.candidate.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.entities.*;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists one parsed CV profile (30 skills, 8 experiences, 5 languages, 2 educations) per invocation and
+ * counts the JDBC round-trips it takes. {@code idMapping=identity} restores the old IDENTITY ids through an
+ * orm.xml override, {@code sequence} uses the entity annotations with the application's batching settings.
+ * <p>
+ * Runs on in-memory H2 by default; point it at a scratch PostgreSQL database with
+ * {@code -Djmh.args="ProfileInsertBenchmark -p jdbcUrl=jdbc:postgresql://localhost:5432/bench -p jdbcUser=... -p jdbcPassword=..."}.
+ * The schema is created and dropped by Hibernate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileInsertBenchmark {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    @Param({"identity", "sequence"})
+    public String idMapping;
+
+    @Param({"jdbc:h2:mem:profile-inserts;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String jdbcUser;
+
+    @Param({""})
+    public String jdbcPassword;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong profiles = new AtomicLong();
+    private SingleConnectionDataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(jdbcUrl, jdbcUser, jdbcPassword, true);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.jdbc.batch_size", "50");
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        properties.put("hibernate.jdbc.batch_versioned_data", "true");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new RoundTripCountingDataSource(dataSource, roundTrips));
+        factoryBean.setPackagesToScan("org.rocman.candidate.entities");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        if ("identity".equals(idMapping)) {
+            factoryBean.setMappingResources("benchmarks/identity-ids-orm.xml");
+        }
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        roundTrips.set(0);
+        profiles.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        if (profiles.get() > 0) {
+            System.out.printf("%n[%s] JDBC round-trips per profile: %.1f%n",
+                    idMapping, (double) roundTrips.get() / profiles.get());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Long persistProfile() {
+        Candidate candidate = newProfile(profiles.incrementAndGet());
+
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.persist(candidate);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        return candidate.getId();
+    }
+
+    private Candidate newProfile(long n) {
+        Candidate candidate = new Candidate();
+        candidate.setEmail(idMapping + "-" + n + "-" + System.nanoTime() + "@example.com");
+        candidate.setPassword("!imported");
+        candidate.setFirstName("Jane");
+        candidate.setLastName("Doe");
+        candidate.setPhoneNumber(idMapping + n + "-" + System.nanoTime());
+        candidate.setAddress("Strada Lalelelor 12, Chisinau");
+
+        for (int i = 0; i < 2; i++) {
+            candidate.getEducations().add(Education.builder()
+                    .level("Master").institution("University " + i).period("2014-2016").candidate(candidate).build());
+        }
+        for (int i = 0; i < 8; i++) {
+            candidate.getExperiences().add(Experience.builder()
+                    .title("Developer").company("Company " + i).period("2016-2020").candidate(candidate).build());
+        }
+        for (int i = 0; i < 30; i++) {
+            candidate.getSkills().add(Skill.builder()
+                    .name("Skill " + i).candidate(candidate).build());
+        }
+        for (int i = 0; i < 5; i++) {
+            candidate.getLanguages().add(Language.builder()
+                    .language("Language " + i).level("B2").candidate(candidate).build());
+        }
+        return candidate;
+    }
+
+    /**
+     * Counts every statement execution and batch flush, i.e. every round-trip to the database.
+     */
+    private static class RoundTripCountingDataSource extends DelegatingDataSource {
+
+        private final AtomicLong counter;
+
+        RoundTripCountingDataSource(DataSource target, AtomicLong counter) {
+            super(target);
+            this.counter = counter;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingProxy(Connection.class, super.getConnection());
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T countingProxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (EXECUTE_METHODS.contains(method.getName())) {
+                    counter.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement statement && type == Connection.class) {
+                    return countingProxy((Class<Statement>) method.getReturnType(), statement);
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.rocman.candidate.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.entities.*;
+import org.rocman.candidate.mapper.CandidateMapper;
+import org.rocman.candidate.mapper.CandidateMapperImpl;
+import org.rocman.candidate.repositories.CandidateRepository;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads and maps one candidate profile per invocation, the way {@code CandidateService.getCandidateProfile}
+ * does on a cache miss. {@code loader=joinFetch} is the former single query that LEFT JOIN FETCHes all four
+ * collections, {@code keyed} is {@link CandidateRepository#findProfileById}: the root row, then one keyed query
+ * per collection. {@code profile} gives the educations-experiences-skills-languages counts; every candidate
+ * carries 6 KB of CV text.
+ * <p>
+ * After each iteration one more load is counted and printed: JDBC round-trips, result set rows, and the bytes of
+ * every column of those rows, an estimate of what the database sends (a joined row repeats the candidate's
+ * columns even though Hibernate reads them once). The second-level cache is off and SQL logging at WARN, so
+ * every load reaches the database and the score is the query cost.
+ * <p>
+ * Runs on in-memory H2 by default; point it at a scratch PostgreSQL database with
+ * {@code -Djmh.args="ProfileLoadBenchmark -p jdbcUrl=jdbc:postgresql://localhost:5432/bench -p jdbcUser=... -p jdbcPassword=..."}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileLoadBenchmark {
+
+    private static final String JOIN_FETCH_QUERY = "SELECT c FROM Candidate c " +
+            "LEFT JOIN FETCH c.educations " +
+            "LEFT JOIN FETCH c.experiences " +
+            "LEFT JOIN FETCH c.skills " +
+            "LEFT JOIN FETCH c.languages " +
+            "WHERE c.id = :id";
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery");
+
+    @Param({"1-2-5-1", "2-8-30-5", "4-15-60-8"})
+    public String profile;
+
+    @Param({"joinFetch", "keyed"})
+    public String loader;
+
+    @Param({"jdbc:h2:mem:profile-loads;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String jdbcUser;
+
+    @Param({""})
+    public String jdbcPassword;
+
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile boolean counting;
+    private final CandidateMapper mapper = new CandidateMapperImpl();
+    private SingleConnectionDataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private CandidateRepository candidateRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private Long candidateId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(jdbcUrl, jdbcUser, jdbcPassword, true);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.cache.use_second_level_cache", "false");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new ResultCountingDataSource(dataSource));
+        factoryBean.setPackagesToScan("org.rocman.candidate.entities");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        Configurator.setLevel("org.hibernate.SQL", org.apache.logging.log4j.Level.WARN);
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        candidateRepository = new JpaRepositoryFactory(entityManager).getRepository(CandidateRepository.class);
+        readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnlyTransaction.setReadOnly(true);
+
+        TransactionTemplate transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        candidateId = transaction.execute(status -> candidateRepository.save(newProfile()).getId());
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        roundTrips.set(0);
+        rows.set(0);
+        bytes.set(0);
+        counting = true;
+        try {
+            loadProfile();
+        } finally {
+            counting = false;
+        }
+        System.out.printf("%n[%s %s] per profile: %d round-trips, %d rows, %.1f KB%n",
+                loader, profile, roundTrips.get(), rows.get(), bytes.get() / 1024.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factoryBean.destroy();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public CandidateProfileDTO loadProfile() {
+        return readOnlyTransaction.execute(status -> {
+            Candidate candidate = "keyed".equals(loader)
+                    ? candidateRepository.findProfileById(candidateId).orElseThrow()
+                    : entityManager.createQuery(JOIN_FETCH_QUERY, Candidate.class)
+                            .setParameter("id", candidateId)
+                            .getSingleResult();
+            return mapper.toDto(candidate);
+        });
+    }
+
+    private Candidate newProfile() {
+        String[] counts = profile.split("-");
+
+        Candidate candidate = new Candidate();
+        candidate.setEmail("jane.doe@example.com");
+        candidate.setPassword("!imported");
+        candidate.setFirstName("Jane");
+        candidate.setLastName("Doe");
+        candidate.setPhoneNumber("+37369000000");
+        candidate.setAddress("Strada Lalelelor 12, Chisinau");
+        candidate.setCvText("Experienced backend developer. ".repeat(200));
+
+        for (int i = 0; i < Integer.parseInt(counts[0]); i++) {
+            candidate.getEducations().add(Education.builder()
+                    .level("Master").institution("University " + i).period("2014-2016").candidate(candidate).build());
+        }
+        for (int i = 0; i < Integer.parseInt(counts[1]); i++) {
+            candidate.getExperiences().add(Experience.builder()
+                    .title("Developer").company("Company " + i).period("2016-2020").candidate(candidate).build());
+        }
+        for (int i = 0; i < Integer.parseInt(counts[2]); i++) {
+            candidate.getSkills().add(Skill.builder()
+                    .name("Skill " + i).candidate(candidate).build());
+        }
+        for (int i = 0; i < Integer.parseInt(counts[3]); i++) {
+            candidate.getLanguages().add(Language.builder()
+                    .language("Language " + i).level("B2").candidate(candidate).build());
+        }
+        return candidate;
+    }
+
+    /**
+     * While {@code counting}, counts statement executions, result set rows and the size of every column of
+     * those rows: strings by their UTF-8 length, other non-null values as 8 bytes.
+     */
+    private class ResultCountingDataSource extends DelegatingDataSource {
+
+        ResultCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingProxy(Connection.class, super.getConnection());
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T countingProxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (counting && type != ResultSet.class && EXECUTE_METHODS.contains(method.getName())) {
+                    roundTrips.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (type == ResultSet.class) {
+                    if (counting && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        countRow((ResultSet) target);
+                    }
+                    return result;
+                }
+                if (result instanceof Statement statement && type == Connection.class) {
+                    return countingProxy((Class<Statement>) method.getReturnType(), statement);
+                }
+                if (result instanceof ResultSet resultSet) {
+                    return countingProxy(ResultSet.class, resultSet);
+                }
+                return result;
+            });
+        }
+
+        private void countRow(ResultSet row) throws SQLException {
+            rows.incrementAndGet();
+            for (int column = 1; column <= row.getMetaData().getColumnCount(); column++) {
+                Object value = row.getObject(column);
+                if (value != null) {
+                    bytes.addAndGet(value instanceof String s ? s.getBytes(StandardCharsets.UTF_8).length : 8);
+                }
+            }
+        }
+    }
+}
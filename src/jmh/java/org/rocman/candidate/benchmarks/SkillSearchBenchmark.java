@@ -0,0 +1,75 @@
+package org.rocman.candidate.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.services.SkillSearchIndex;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skill search against the in-memory bitmap index with one million candidates, 15 skills each, drawn from
+ * 2,000 skills with a skewed (roughly Zipfian) popularity so common skills have large posting lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SkillSearchBenchmark {
+
+    private static final int SKILLS = 2_000;
+    private static final int SKILLS_PER_CANDIDATE = 15;
+
+    @Param({"1000000"})
+    public int candidates;
+
+    private SkillSearchIndex index;
+    private final List<Long> popularSkills = List.of(1L, 2L, 3L);
+    private final List<Long> mixedSkills = List.of(1L, 40L, 900L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SkillSearchIndex(null, null, new SimpleMeterRegistry(), 10_000);
+        SplittableRandom random = new SplittableRandom(42);
+        Long[] skills = new Long[SKILLS_PER_CANDIDATE];
+        for (int candidateId = 1; candidateId <= candidates; candidateId++) {
+            for (int i = 0; i < SKILLS_PER_CANDIDATE; i++) {
+                // 1 / rank popularity: skill 1 is on ~3/4 of profiles, skill 900 on ~2,000
+                skills[i] = (long) Math.min(SKILLS, (int) Math.exp(random.nextDouble() * Math.log(SKILLS)));
+            }
+            index.index(candidateId, List.of(skills));
+        }
+    }
+
+    @Benchmark
+    public long andPopularSkills() {
+        return index.search(popularSkills, true).getLongCardinality();
+    }
+
+    @Benchmark
+    public long orPopularSkills() {
+        return index.search(popularSkills, false).getLongCardinality();
+    }
+
+    @Benchmark
+    public long andMixedSkills() {
+        return index.search(mixedSkills, true).getLongCardinality();
+    }
+
+    @Benchmark
+    public int firstPageOfPopularOr() {
+        RoaringBitmap matches = index.search(popularSkills, false);
+        int[] page = new int[20];
+        var iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select(1_000));
+        int n = 0;
+        while (iterator.hasNext() && n < page.length) {
+            page[n++] = iterator.next();
+        }
+        return n;
+    }
+}
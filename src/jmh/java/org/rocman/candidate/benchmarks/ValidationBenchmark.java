@@ -0,0 +1,46 @@
+package org.rocman.candidate.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.rocman.candidate.dtos.CandidateRegistrationDTO;
+import org.rocman.candidate.utils.LogMaskingUtil;
+import org.rocman.candidate.validation.PhoneNumberValidator;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private final PhoneNumberValidator phoneNumberValidator = new PhoneNumberValidator();
+    private CandidateRegistrationDTO validPhone;
+    private CandidateRegistrationDTO invalidPhone;
+
+    @Setup
+    public void setUp() {
+        validPhone = registration("+40", "712345678");
+        invalidPhone = registration("+40", "12");
+    }
+
+    private static CandidateRegistrationDTO registration(String callingCode, String phoneNumber) {
+        CandidateRegistrationDTO dto = new CandidateRegistrationDTO();
+        dto.setCallingCode(callingCode);
+        dto.setPhoneNumber(phoneNumber);
+        return dto;
+    }
+
+    @Benchmark
+    public boolean phoneNumberValid() {
+        return phoneNumberValidator.isValid(validPhone, null);
+    }
+
+    @Benchmark
+    public boolean phoneNumberInvalid() {
+        return phoneNumberValidator.isValid(invalidPhone, null);
+    }
+
+    @Benchmark
+    public String maskEmail() {
+        return LogMaskingUtil.maskEmail("jane.doe@example.com");
+    }
+}
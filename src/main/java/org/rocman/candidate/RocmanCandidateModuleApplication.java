@@ -2,8 +2,10 @@ package org.rocman.candidate;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RocmanCandidateModuleApplication {
 
 	public static void main(String[] args)
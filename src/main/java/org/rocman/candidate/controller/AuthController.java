@@ -13,9 +13,12 @@ import org.rocman.candidate.entities.VerificationToken;
 import org.rocman.candidate.repositories.CandidateRepository;
 import org.rocman.candidate.repositories.PasswordResetTokenRepository;
 import org.rocman.candidate.repositories.VerificationTokenRepository;
+import org.rocman.candidate.security.CandidatePrincipalCache;
 import org.rocman.candidate.services.CandidateService;
 import org.rocman.candidate.services.EmailService;
 import org.rocman.candidate.utils.JwtUtil;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -45,31 +48,38 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final CandidatePrincipalCache principalCache;
 
     @PostMapping("/register")
     public ResponseEntity<Object> register(@Valid @RequestBody CandidateRegistrationDTO dto, BindingResult result) {
         if (result.hasErrors()) {
             result.getFieldErrors().forEach(error ->
 
-                    log.warn("Validation error | field={} | message={} | email={} | timestamp={}",
+                    log.warn("Validation error | field={} | message={} | email={}",
                             error.getField(),
                             error.getDefaultMessage(),
-                            dto.getEmail(),
-                            LocalDateTime.now())
+                            dto.getEmail())
             );
             return ResponseEntity.badRequest().body(result.getAllErrors());
         }
 
         try {
-            Candidate candidate = candidateService.registerCandidate(dto);
+            // hashed before the saving transaction opens, so the wait for a hashing slot holds no connection
+            Candidate candidate = candidateService.saveRegisteredCandidate(candidateService.buildRegisteredCandidate(dto));
             return ResponseEntity.ok(candidate);
         } catch (IllegalArgumentException e) {
-            log.warn("Registration failed | reason={} | email={} | timestamp={}",
-                    e.getMessage(), dto.getEmail(), LocalDateTime.now());
+            log.warn("Registration failed | reason={} | email={}",
+                    e.getMessage(), dto.getEmail());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            log.warn("Registration rejected | reason=password hashing saturated | email={}",
+                    dto.getEmail());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("The service is busy. Please try again in a moment.");
         } catch (Exception e) {
-            log.error("Unexpected error during registration | email={} | timestamp={}",
-                    dto.getEmail(), LocalDateTime.now(), e);
+            log.error("Unexpected error during registration | email={}",
+                    dto.getEmail(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("An unexpected error occurred. Please try again later.");
         }
@@ -80,39 +90,41 @@ public class AuthController {
         return verificationTokenRepository.findByToken(token)
                 .map(verificationToken -> {
                     if (verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-                        log.warn("Email verification failed | reason=expired token | email={} | timestamp={}",
-                                verificationToken.getCandidate().getEmail(), LocalDateTime.now());
+                        log.warn("Email verification failed | reason=expired token | email={}",
+                                verificationToken.getCandidate().getEmail());
                         return ResponseEntity.badRequest().body("Expired token");
                     }
                     Candidate candidate = verificationToken.getCandidate();
                     candidate.setEnabled(true);
                     candidateRepository.save(candidate);
-                    log.info("Email verification successful | userId={} | email={} | timestamp={}",
-                            candidate.getId(), candidate.getEmail(), LocalDateTime.now());
+                    principalCache.evict(candidate.getEmail());
+                    log.info("Email verification successful | userId={} | email={}",
+                            candidate.getId(), candidate.getEmail());
                     return ResponseEntity.ok("Account is confirmed!");
                 })
                 .orElseGet(() -> {
-                    log.warn("Email verification failed | reason=invalid token | token={} | timestamp={}",
-                            token, LocalDateTime.now());
+                    log.warn("Email verification failed | reason=invalid token | token={}",
+                            token);
                     return ResponseEntity.badRequest().body("Invalid token");
                 });
     }
 
+    // limited to 3 requests per email and hour by AuthRateLimitFilter
     @GetMapping("/resend-verification")
     public ResponseEntity<String> resendVerification(@RequestParam String email) {
         Optional<Candidate> candidateOpt = candidateRepository.findByEmail(email);
 
         if (candidateOpt.isEmpty()) {
-            log.warn("Resend verification failed | reason=account not found | email={} | timestamp={}",
-                    email, LocalDateTime.now());
+            log.warn("Resend verification failed | reason=account not found | email={}",
+                    email);
             return ResponseEntity.badRequest().body("Account not found");
         }
 
         Candidate candidate = candidateOpt.get();
 
         if (candidate.isEnabled()) {
-            log.warn("Resend verification blocked | reason=already confirmed | email={} | timestamp={}",
-                    email, LocalDateTime.now());
+            log.warn("Resend verification blocked | reason=already confirmed | email={}",
+                    email);
             return ResponseEntity.badRequest().body("The account was confirmed");
         }
 
@@ -121,21 +133,9 @@ public class AuthController {
         if (existingTokenOpt.isPresent()) {
             VerificationToken existingToken = existingTokenOpt.get();
 
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            long recentRequests = verificationTokenRepository
-                    .countByCandidateAndCreatedAtAfter(candidate, oneHourAgo);
-
-            if (recentRequests >= 3) {
-                log.warn("Resend verification blocked | reason=too many requests | email={} | requestsLastHour={} | timestamp={}",
-                        email, recentRequests, LocalDateTime.now());
-                return ResponseEntity
-                        .status(HttpStatus.TOO_MANY_REQUESTS)
-                        .body("You have exceed the limit of 3 emails/ hour. Please try later.");
-            }
-
             if (existingToken.getExpiryDate().isAfter(LocalDateTime.now())) {
-                log.warn("Resend verification blocked | reason=valid token still active | email={} | tokenExpiry={} | timestamp={}",
-                        email, existingToken.getExpiryDate(), LocalDateTime.now());
+                log.warn("Resend verification blocked | reason=valid token still active | email={} | tokenExpiry={}",
+                        email, existingToken.getExpiryDate());
                 return ResponseEntity
                         .badRequest()
                         .body("Please verify your inbox, there is a valid activation link in previous email.");
@@ -153,8 +153,8 @@ public class AuthController {
         verificationTokenRepository.save(newVerificationToken);
 
         emailService.sendVerificationEmail(candidate.getEmail(), newToken);
-        log.info("Verification email resent | email={} | timestamp={}",
-                candidate.getEmail(), LocalDateTime.now());
+        log.info("Verification email resent | email={}",
+                candidate.getEmail());
 
         return ResponseEntity.ok("The activation link was successfully resented");
     }
@@ -167,13 +167,19 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
             String token = jwtUtil.generateToken(request.getEmail());
-            log.info("Successful login | user={} | ip={} | timestamp={}",
-                    request.getEmail(), clientIp, LocalDateTime.now());
+            log.info("Successful login | user={} | ip={}",
+                    request.getEmail(), clientIp);
             return ResponseEntity.ok(new JwtResponse(token));
         } catch (BadCredentialsException e) {
-            log.warn("Failed login attempt | user={} | ip={} | timestamp={}",
-                    request.getEmail(), clientIp, LocalDateTime.now());
+            log.warn("Failed login attempt | user={} | ip={}",
+                    request.getEmail(), clientIp);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+        } catch (TaskRejectedException e) {
+            log.warn("Login rejected | reason=password hashing saturated | user={} | ip={}",
+                    request.getEmail(), clientIp);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("The service is busy. Please try again in a moment.");
         }
     }
 
@@ -194,8 +200,8 @@ public class AuthController {
     public ResponseEntity<String> requestPasswordReset(@RequestParam String email) {
         Optional<Candidate> candidateOpt = candidateRepository.findByEmail(email);
         if (candidateOpt.isEmpty()) {
-            log.warn("Password reset requested | non-existent email={} | timestamp={}",
-                    email, LocalDateTime.now());
+            log.warn("Password reset requested | non-existent email={}",
+                    email);
             return ResponseEntity.ok("Please check your inbox for reset password email.");
         }
 
@@ -212,8 +218,8 @@ public class AuthController {
         passwordResetTokenRepository.save(resetToken);
 
         emailService.sendResetPasswordEmail(candidate.getEmail(), token);
-        log.info("Password reset requested | email={} | timestamp={}",
-                candidate.getEmail(), LocalDateTime.now());
+        log.info("Password reset requested | email={}",
+                candidate.getEmail());
         return ResponseEntity.ok("Please check your inbox for reset password email.");
     }
 
@@ -222,23 +228,21 @@ public class AuthController {
         return passwordResetTokenRepository.findByToken(token)
                 .map(resetToken -> {
                     if (resetToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-                        log.warn("Password reset token verification failed | reason=expired token | email={} | token={} | expiryDate={} | timestamp={}",
+                        log.warn("Password reset token verification failed | reason=expired token | email={} | token={} | expiryDate={}",
                                 resetToken.getCandidate().getEmail(),
                                 token,
-                                resetToken.getExpiryDate(),
-                                LocalDateTime.now());
+                                resetToken.getExpiryDate());
                         return ResponseEntity.badRequest().body("The token has expired.");
                     }
-                    log.info("Password reset token verified successfully | email={} | token={} | expiryDate={} | timestamp={}",
+                    log.info("Password reset token verified successfully | email={} | token={} | expiryDate={}",
                             resetToken.getCandidate().getEmail(),
                             token,
-                            resetToken.getExpiryDate(),
-                            LocalDateTime.now());
+                            resetToken.getExpiryDate());
                     return ResponseEntity.ok("Token is valid. You can now reset your password via POST.");
                 })
                 .orElseGet(() -> {
-                    log.warn("Password reset token verification failed | reason=invalid token | token={} | timestamp={}",
-                            token, LocalDateTime.now());
+                    log.warn("Password reset token verification failed | reason=invalid token | token={}",
+                            token);
                         return ResponseEntity.badRequest().body("Invalid token.");
                 });
                 }
@@ -248,27 +252,35 @@ public class AuthController {
         return passwordResetTokenRepository.findByToken(token)
                 .map(resetToken -> {
                     if (resetToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-                        log.warn("Password reset failed | reason=expired token | email={} | token={} | expiryDate={} | timestamp={}",
+                        log.warn("Password reset failed | reason=expired token | email={} | token={} | expiryDate={}",
                                 resetToken.getCandidate().getEmail(),
                                 token,
-                                resetToken.getExpiryDate(),
-                                LocalDateTime.now());
+                                resetToken.getExpiryDate());
                         return ResponseEntity.badRequest().body("The token has expired.");
                     }
 
                     Candidate candidate = resetToken.getCandidate();
-                    candidate.setPassword(passwordEncoder.encode(newPassword));
+                    try {
+                        candidate.setPassword(passwordEncoder.encode(newPassword));
+                    } catch (TaskRejectedException e) {
+                        log.warn("Password reset rejected | reason=password hashing saturated | email={}",
+                                candidate.getEmail());
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body("The service is busy. Please try again in a moment.");
+                    }
                     candidate.setEnabled(true);
                     candidateRepository.save(candidate);
+                    principalCache.evict(candidate.getEmail());
 
                     passwordResetTokenRepository.delete(resetToken);
-                    log.info("Password reset successful | userId={} | email={} | timestamp={}",
-                            candidate.getId(), candidate.getEmail(), LocalDateTime.now());
+                    log.info("Password reset successful | userId={} | email={}",
+                            candidate.getId(), candidate.getEmail());
                     return ResponseEntity.ok("Your password was successfully reset.");
                 })
                 .orElseGet(() -> {
-                    log.warn("Password reset failed | reason=invalid token | token={} | timestamp={}",
-                            token, LocalDateTime.now());
+                    log.warn("Password reset failed | reason=invalid token | token={}",
+                            token);
                     return ResponseEntity.badRequest().body("Invalid token.");
                 });
     }
@@ -1,14 +1,36 @@
 package org.rocman.candidate.controller;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.rocman.candidate.dtos.CVIngestionJobDTO;
 import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.dtos.CandidateSearchResultDTO;
+import org.rocman.candidate.repositories.CandidateCVView;
+import org.rocman.candidate.security.CandidatePrincipal;
+import org.rocman.candidate.services.BulkCVImportService;
+import org.rocman.candidate.services.CVIngestionService;
+import org.rocman.candidate.services.CVStorageService;
+import org.rocman.candidate.services.CandidateSearchService;
 import org.rocman.candidate.services.CandidateService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.extern.log4j.Log4j2;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
 @Log4j2
 @RestController
 @RequestMapping("/api/candidates")
@@ -16,24 +38,179 @@ import lombok.extern.log4j.Log4j2;
 public class CandidateController {
 
     private final CandidateService candidateService;
+    private final CVIngestionService cvIngestionService;
+    private final CVStorageService cvStorageService;
+    private final BulkCVImportService bulkCVImportService;
+    private final CandidateSearchService candidateSearchService;
 
     @PostMapping("/upload-cv")
-    public ResponseEntity<CandidateProfileDTO> uploadCV(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<Object> uploadCV(@RequestParam("file") MultipartFile file) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         log.info("Received CV upload request from email={}", email);
 
         try {
-            CandidateProfileDTO dto = candidateService.uploadCVByEmail(email, file);
-            return ResponseEntity.ok(dto);
+            CVIngestionJobDTO job = cvIngestionService.submit(email, file);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/candidates/cv-jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            log.warn("CV upload rejected | reason={} | email={}", e.getMessage(), email);
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse("CV processing queue is full. Please try again later."));
         } catch (Exception e) {
             log.error("Error uploading CV for email={}: {}", email, e.getMessage(), e);
-            return ResponseEntity.badRequest().body(null);
+            return ResponseEntity.badRequest().body(new ErrorResponse("Could not process the uploaded CV."));
+        }
+    }
+
+    @PostMapping(value = "/bulk-import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> bulkImport(
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            @RequestParam(value = "files", required = false) List<MultipartFile> files) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        if (archive == null && (files == null || files.isEmpty())) {
+            return ResponseEntity.badRequest()
+                    .body(out -> out.write("Provide a ZIP 'archive' or one or more 'files'.".getBytes(StandardCharsets.UTF_8)));
+        }
+        log.info("Received bulk CV import | email={} | archive={} | files={}",
+                email, archive != null ? archive.getOriginalFilename() : null, files != null ? files.size() : 0);
+
+        StreamingResponseBody body = out -> {
+            if (archive != null) {
+                bulkCVImportService.importArchive(archive.getInputStream(), out);
+            } else {
+                bulkCVImportService.importFiles(files, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/cv-jobs/{id}")
+    public ResponseEntity<CVIngestionJobDTO> getCVJob(@PathVariable UUID id) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return cvIngestionService.getJob(id, email)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<Object> listCandidates(@RequestParam(required = false) Long after,
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @RequestParam(required = false) String skill,
+                                                 @RequestParam(required = false) String language,
+                                                 @RequestParam(required = false) String languageLevel,
+                                                 @RequestParam(required = false) Boolean enabled) {
+        try {
+            CandidateSearchService.CandidateFilter filter =
+                    new CandidateSearchService.CandidateFilter(enabled, skill, language, languageLevel);
+            return ResponseEntity.ok(candidateSearchService.listCandidates(filter, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCandidates(@RequestParam(defaultValue = "csv") String format,
+                                                                  @RequestParam(required = false) String skill,
+                                                                  @RequestParam(required = false) String language,
+                                                                  @RequestParam(required = false) String languageLevel,
+                                                                  @RequestParam(required = false) Boolean enabled) {
+        CandidateSearchService.ExportFormat exportFormat;
+        try {
+            exportFormat = CandidateSearchService.ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+        CandidateSearchService.CandidateFilter filter =
+                new CandidateSearchService.CandidateFilter(enabled, skill, language, languageLevel);
+        log.info("Candidate export requested | format={} | filter={}", exportFormat, filter);
+
+        boolean csv = exportFormat == CandidateSearchService.ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(csv ? "candidates.csv" : "candidates.ndjson").build().toString())
+                .body(out -> candidateSearchService.exportCandidates(filter, exportFormat, out));
+    }
+
+    @GetMapping(value = "/search", params = "skills")
+    public ResponseEntity<Object> searchBySkills(@RequestParam List<String> skills,
+                                                 @RequestParam(defaultValue = "AND") String mode,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        try {
+            CandidateSearchResultDTO result = candidateSearchService.searchBySkills(skills, mode, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/search", params = {"q", "!skills"})
+    public ResponseEntity<Object> searchFullText(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(candidateSearchService.searchFullText(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Full-text search failed | reason={}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(new ErrorResponse("Search failed."));
         }
     }
 
     public record ErrorResponse(String message) {
     }
 
+    @GetMapping("/{id}/cv")
+    public ResponseEntity<Resource> downloadCV(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CandidateCVView cv;
+        try {
+            cv = candidateService.getCVDescriptor(id);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+        // someone else's CV answers like a missing one, so ids cannot be probed
+        if (!cv.getEmail().equals(authentication.getName()) && !isRecruiter(authentication)) {
+            log.warn("CV download refused | candidateId={} | email={}", id, authentication.getName());
+            return ResponseEntity.notFound().build();
+        }
+        Resource resource = cvStorageService.load(cv.getCvSha256());
+        if (!resource.exists()) {
+            log.error("CV binary missing from storage | candidateId={} | sha256={}", id, cv.getCvSha256());
+            return ResponseEntity.notFound().build();
+        }
+
+        String fileName = cv.getCvFileName() != null ? cv.getCvFileName() : "cv-" + id;
+        MediaType mediaType = cv.getCvMimeType() != null
+                ? MediaType.parseMediaType(cv.getCvMimeType())
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        // Returning the Resource lets Spring stream it and answer Range requests with 206 partial content.
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .eTag(cv.getCvSha256())
+                .body(resource);
+    }
+
+    private static boolean isRecruiter(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + CandidatePrincipal.RECRUITER_ROLE).equals(authority.getAuthority()));
+    }
+
     @GetMapping("/{id}/profile")
     public ResponseEntity<CandidateProfileDTO> getCandidateProfile(@PathVariable Long id) {
         return ResponseEntity.ok(candidateService.getCandidateProfile(id));
@@ -70,6 +247,7 @@ public class CandidateController {
             @PathVariable Long id,
             @RequestBody CandidateProfileDTO.SkillDTO dto) {
         log.info("Request PUT update skill | skillId={} | dto={}", id, dto);
+        candidateService.defineSkills(List.of(dto));
         return ResponseEntity.ok(candidateService.updateSkill(id, dto));
     }
 
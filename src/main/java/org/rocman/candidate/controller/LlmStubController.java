@@ -0,0 +1,144 @@
+package org.rocman.candidate.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.utils.CVSectionChunker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI-compatible {@code /chat/completions} stand-in for offline runs and load tests, active with the
+ * {@code llm-stub} profile (which also points {@code openai.api.base-url} here). It answers after a fixed
+ * latency with a profile guessed from the CV text (email, phone, name from the first line), as server-sent
+ * events when the request asks for {@code "stream": true}, and can inject 429/503 responses to exercise the
+ * client's retries. Token usage is estimated from the prompt and answer lengths.
+ */
+@Log4j2
+@Profile("llm-stub")
+@RestController
+@RequestMapping("/llm-stub/v1")
+public class LlmStubController {
+
+    private static final String CV_TEXT_MARKER = "CV text:";
+    private static final int STREAM_CHUNK_CHARS = 16;
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+    private static final Pattern PHONE = Pattern.compile("\\+?\\d[\\d ()-]{7,}\\d");
+
+    private final ObjectMapper objectMapper;
+    private final long latencyMs;
+    private final double failureRate;
+
+    public LlmStubController(ObjectMapper objectMapper,
+                             @Value("${llm.stub.latency-ms:500}") long latencyMs,
+                             @Value("${llm.stub.failure-rate:0.0}") double failureRate) {
+        this.objectMapper = objectMapper;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        log.warn("LLM stub enabled | latencyMs={} | failureRate={}", latencyMs, failureRate);
+    }
+
+    @PostMapping("/chat/completions")
+    public ResponseEntity<Object> chatCompletions(@RequestBody JsonNode request) throws Exception {
+        Thread.sleep(latencyMs);
+
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < failureRate / 2) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("{\"error\":{\"message\":\"Rate limit reached (stub)\"}}");
+        }
+        if (roll < failureRate) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("{\"error\":{\"message\":\"Overloaded (stub)\"}}");
+        }
+
+        JsonNode messages = request.path("messages");
+        String prompt = messages.isArray() && !messages.isEmpty()
+                ? messages.get(messages.size() - 1).path("content").asText("")
+                : "";
+        int marker = prompt.lastIndexOf(CV_TEXT_MARKER);
+        String cvText = marker >= 0 ? prompt.substring(marker + CV_TEXT_MARKER.length()) : prompt;
+
+        String content = objectMapper.writeValueAsString(profile(cvText));
+        ObjectNode usage = objectMapper.createObjectNode()
+                .put("prompt_tokens", CVSectionChunker.estimateTokens(prompt))
+                .put("completion_tokens", CVSectionChunker.estimateTokens(content));
+        if (request.path("stream").asBoolean(false)) {
+            boolean includeUsage = request.path("stream_options").path("include_usage").asBoolean(false);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(events(content, includeUsage ? usage : null));
+        }
+
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("model", request.path("model").asText("stub"));
+        ObjectNode message = response.putArray("choices").addObject().putObject("message");
+        message.put("role", "assistant");
+        message.put("content", content);
+        response.set("usage", usage);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * The content as chat completion chunks of a few characters each, the way a streamed completion arrives,
+     * and a last chunk without choices carrying {@code usage} when it is not {@code null}.
+     */
+    private String events(String content, ObjectNode usage) throws Exception {
+        StringBuilder events = new StringBuilder();
+        for (int start = 0; start < content.length(); start += STREAM_CHUNK_CHARS) {
+            ObjectNode chunk = objectMapper.createObjectNode();
+            chunk.putArray("choices").addObject().putObject("delta")
+                    .put("content", content.substring(start, Math.min(content.length(), start + STREAM_CHUNK_CHARS)));
+            events.append("data: ").append(objectMapper.writeValueAsString(chunk)).append("\n\n");
+        }
+        if (usage != null) {
+            ObjectNode chunk = objectMapper.createObjectNode();
+            chunk.putArray("choices");
+            chunk.set("usage", usage);
+            events.append("data: ").append(objectMapper.writeValueAsString(chunk)).append("\n\n");
+        }
+        return events.append("data: [DONE]\n\n").toString();
+    }
+
+    private ObjectNode profile(String cvText) {
+        ObjectNode profile = objectMapper.createObjectNode();
+        profile.put("email", firstMatch(EMAIL, cvText));
+        profile.put("phone", firstMatch(PHONE, cvText));
+
+        String[] name = cvText.strip().lines().findFirst().orElse("").trim().split("\\s+", 2);
+        profile.put("firstName", !name[0].isEmpty() ? name[0] : "N/A");
+        profile.put("lastName", name.length > 1 ? name[1] : "N/A");
+        profile.put("address", "N/A");
+
+        profile.putArray("education");
+        profile.putArray("experience");
+        ArrayNode skills = profile.putArray("skills");
+        for (String skill : new String[]{"Java", "SQL"}) {
+            if (cvText.contains(skill)) {
+                skills.addObject().put("name", skill);
+            }
+        }
+        profile.putArray("languages");
+        return profile;
+    }
+
+    private static String firstMatch(Pattern pattern, String text) {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group().trim() : "N/A";
+    }
+}
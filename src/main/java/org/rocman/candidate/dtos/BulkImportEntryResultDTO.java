@@ -0,0 +1,13 @@
+package org.rocman.candidate.dtos;
+
+import lombok.Data;
+
+@Data
+public class BulkImportEntryResultDTO {
+    private String entry;
+    private String status;
+    private Long candidateId;
+    private String email;
+    private String error;
+    private long elapsedMs;
+}
@@ -0,0 +1,14 @@
+package org.rocman.candidate.dtos;
+
+import lombok.Data;
+
+@Data
+public class BulkImportSummaryDTO {
+    private final boolean summary = true;
+    private int entries;
+    private int imported;
+    private int skipped;
+    private int failed;
+    private long elapsedMs;
+    private double entriesPerSecond;
+}
@@ -0,0 +1,16 @@
+package org.rocman.candidate.dtos;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class CVIngestionJobDTO {
+    private UUID jobId;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String error;
+    private CandidateProfileDTO result;
+}
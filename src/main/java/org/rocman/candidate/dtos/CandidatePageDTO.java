@@ -0,0 +1,15 @@
+package org.rocman.candidate.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the candidate listing. {@code nextAfter} is the cursor for the next page, null on the last one.
+ */
+@Data
+public class CandidatePageDTO {
+    private int size;
+    private Long nextAfter;
+    private List<CandidateSearchResultDTO.CandidateSummaryDTO> candidates;
+}
@@ -0,0 +1,26 @@
+package org.rocman.candidate.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CandidateSearchResultDTO {
+    private long total;
+    private int page;
+    private int size;
+    private List<CandidateSummaryDTO> candidates;
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CandidateSummaryDTO {
+        private Long id;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private Boolean enabled;
+        private Float score;
+        private String highlight;
+    }
+}
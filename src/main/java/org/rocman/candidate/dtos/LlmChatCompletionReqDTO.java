@@ -1,5 +1,7 @@
 package org.rocman.candidate.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.List;
@@ -10,6 +12,17 @@ public class LlmChatCompletionReqDTO {
     private List<ChatMessage> messages;
     private double temperature = 0.0;
 
+    @JsonProperty("max_tokens")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxTokens;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stream;
+
+    @JsonProperty("stream_options")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private StreamOptions streamOptions;
+
     @Data
     public static class ChatMessage {
         private String role;
@@ -20,4 +33,10 @@ public class LlmChatCompletionReqDTO {
             this.content = content;
         }
     }
+
+    @Data
+    public static class StreamOptions {
+        @JsonProperty("include_usage")
+        private boolean includeUsage = true;
+    }
 }
@@ -1,5 +1,7 @@
 package org.rocman.candidate.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 import java.util.List;
@@ -7,6 +9,7 @@ import java.util.List;
 @Data
 public class LlmChatCompletionRespDTO {
     private List<Choice> choices;
+    private Usage usage;
 
     @Data
     public static class Choice {
@@ -18,4 +21,14 @@ public class LlmChatCompletionRespDTO {
         private String role;
         private String content;
     }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Usage {
+        @JsonProperty("prompt_tokens")
+        private long promptTokens;
+
+        @JsonProperty("completion_tokens")
+        private long completionTokens;
+    }
 }
@@ -3,6 +3,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +16,8 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "candidates")
 @Data
 @NoArgsConstructor
@@ -21,7 +25,8 @@ import java.util.Set;
 public class Candidate implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidates_seq")
+    @SequenceGenerator(name = "candidates_seq", sequenceName = "candidates_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -47,22 +52,35 @@ public class Candidate implements UserDetails {
 
     @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Education> educations= new HashSet<>();
 
     @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Experience> experiences= new HashSet<>();
 
     @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Skill> skills= new HashSet<>();
 
     @OneToMany(mappedBy = "candidate", cascade = CascadeType.ALL, orphanRemoval = true)
     @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<Language> languages= new HashSet<>();
 
-    @Column(name = "cv_file")
-    private byte[] cvFile;
+    @Column(name = "cv_sha256", length = 64)
+    private String cvSha256;
+
+    @Column(name = "cv_size")
+    private Long cvSize;
+
+    @Column(name = "cv_mime_type")
+    private String cvMimeType;
+
+    @Column(name = "cv_file_name")
+    private String cvFileName;
 
     @Column(name = "cv_text", columnDefinition = "TEXT")
     private String cvText;
@@ -2,8 +2,12 @@ package org.rocman.candidate.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "educations")
 @Data
 @NoArgsConstructor
@@ -13,7 +17,8 @@ import lombok.*;
 public class Education {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "educations_seq")
+    @SequenceGenerator(name = "educations_seq", sequenceName = "educations_seq", allocationSize = 50)
     private Long id;
 
     private String level;
@@ -2,10 +2,14 @@ package org.rocman.candidate.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "experiences")
 @Data
 @NoArgsConstructor
@@ -14,7 +18,8 @@ import java.util.Objects;
 @ToString(exclude = "candidate")
 public class Experience {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "experiences_seq")
+    @SequenceGenerator(name = "experiences_seq", sequenceName = "experiences_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -2,11 +2,15 @@ package org.rocman.candidate.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
-@Table(name = "languages")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "languages", indexes = @Index(name = "idx_languages_candidate", columnList = "candidate_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +19,8 @@ import java.util.Objects;
 public class Language {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "languages_seq")
+    @SequenceGenerator(name = "languages_seq", sequenceName = "languages_seq", allocationSize = 50)
     private Long id;
 
     private String language;
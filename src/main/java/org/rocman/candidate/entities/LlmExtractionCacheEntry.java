@@ -0,0 +1,40 @@
+package org.rocman.candidate.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "llm_extraction_cache", indexes = @Index(name = "idx_llm_extraction_cache_created", columnList = "createdAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class LlmExtractionCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(nullable = false)
+    private String promptVersion;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // set by CVExtractionCache.put as well: a put over an existing key is a merge, which skips @PrePersist
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -9,11 +9,17 @@ import lombok.Setter;
 @Getter
 
 @Entity
+@Table(name = "password_reset_token", indexes = {
+        @Index(name = "uk_password_reset_token_token", columnList = "token", unique = true),
+        @Index(name = "idx_password_reset_token_candidate_created", columnList = "candidate_id, createdAt"),
+        @Index(name = "idx_password_reset_token_expiry", columnList = "expiryDate")
+})
 public class PasswordResetToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false)
     private String token;
 
     @OneToOne
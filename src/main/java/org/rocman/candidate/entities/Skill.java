@@ -2,21 +2,26 @@ package org.rocman.candidate.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 
 @Entity
-@Table(name = "skills")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "skills", indexes = @Index(name = "idx_skills_definition", columnList = "skill_definition_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = "candidate")
+@ToString(exclude = {"candidate", "definition"})
 public class Skill {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skills_seq")
+    @SequenceGenerator(name = "skills_seq", sequenceName = "skills_seq", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "TEXT")
@@ -26,6 +31,10 @@ public class Skill {
     @JoinColumn(name = "candidate_id")
     private Candidate candidate;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "skill_definition_id")
+    private SkillDefinition definition;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
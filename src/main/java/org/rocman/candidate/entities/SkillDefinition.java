@@ -0,0 +1,36 @@
+package org.rocman.candidate.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Canonical skill of the skill dictionary. Every normalized spelling that maps to it ("js", "javascript",
+ * "ecmascript") is stored once in {@code skill_aliases}.
+ */
+@Entity
+@Table(name = "skill_definitions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SkillDefinition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "skill_definitions_seq")
+    @SequenceGenerator(name = "skill_definitions_seq", sequenceName = "skill_definitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String canonicalName;
+
+    @ElementCollection
+    @CollectionTable(name = "skill_aliases",
+            joinColumns = @JoinColumn(name = "skill_definition_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_skill_aliases_alias", columnNames = "alias"))
+    @Column(name = "alias", nullable = false)
+    private Set<String> aliases = new HashSet<>();
+}
@@ -8,6 +8,11 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "verification_token", indexes = {
+        @Index(name = "uk_verification_token_token", columnList = "token", unique = true),
+        @Index(name = "idx_verification_token_candidate_created", columnList = "candidate_id, createdAt"),
+        @Index(name = "idx_verification_token_expiry", columnList = "expiryDate")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,6 +21,7 @@ public class VerificationToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false)
     private String token;
 
     private LocalDateTime expiryDate;
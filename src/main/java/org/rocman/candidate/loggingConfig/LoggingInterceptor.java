@@ -1,11 +1,13 @@
 package org.rocman.candidate.loggingConfig;
 
+import io.micrometer.common.KeyValue;
 import org.apache.logging.log4j.ThreadContext;
-import org.rocman.candidate.entities.Candidate;
+import org.rocman.candidate.security.CandidatePrincipal;
 import org.rocman.candidate.utils.LogMaskingUtil;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,15 +33,18 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-            Candidate candidate = (Candidate) auth.getPrincipal();
-            userId = String.valueOf(candidate.getId());
-            userEmail = LogMaskingUtil.maskEmail(candidate.getEmail());
+            CandidatePrincipal principal = (CandidatePrincipal) auth.getPrincipal();
+            userId = String.valueOf(principal.getId());
+            userEmail = LogMaskingUtil.maskEmail(principal.getEmail());
         }
 
         ThreadContext.put("ip", ip);
         ThreadContext.put("requestId", requestId);
         ThreadContext.put("userId", userId);
         ThreadContext.put("userEmail", userEmail);
+        // on the request's span (when tracing is on), not on the http.server.requests metrics
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of("requestId", requestId)));
 
         return true;
     }
@@ -1,29 +1,76 @@
 package org.rocman.candidate.mapper;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 @Slf4j
 public class OpenAIConfig {
+    /**
+     * Dedicated Reactor Netty pool for the LLM provider: bounded connections and pending acquires, idle
+     * connections evicted before the provider's load balancer drops them, and connect/response timeouts so a
+     * stuck call fails instead of holding a connection forever.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openaiConnectionProvider(
+            @Value("${llm.client.pool.max-connections:50}") int maxConnections,
+            @Value("${llm.client.pool.pending-acquire-max:500}") int pendingAcquireMax,
+            @Value("${llm.client.pool.pending-acquire-timeout-ms:10000}") long pendingAcquireTimeoutMs,
+            @Value("${llm.client.pool.max-idle-seconds:30}") long maxIdleSeconds,
+            @Value("${llm.client.pool.max-life-minutes:5}") long maxLifeMinutes
+    ) {
+        return ConnectionProvider.builder("openai")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .maxLifeTime(Duration.ofMinutes(maxLifeMinutes))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
     public WebClient openaiWebClient(
+            ConnectionProvider openaiConnectionProvider,
+            ObservationRegistry observationRegistry,
             @Value("${openai.api.key}") String apiKey,
-            @Value("${openai.api.base-url}") String baseUrl
+            @Value("${openai.api.base-url}") String baseUrl,
+            @Value("${llm.client.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${llm.client.response-timeout-seconds:120}") long responseTimeoutSeconds,
+            @Value("${llm.client.max-response-bytes:4194304}") int maxResponseBytes
     ) {
-        log.info("Initializing OpenAI WebClient | baseUrl={}", baseUrl);
-        log.info("API key prefix={}", apiKey.substring(0, 6));
-        log.info("Initializing OpenAI WebClient | baseUrl={} ", baseUrl);
+        log.info("Initializing OpenAI WebClient | baseUrl={} | connectTimeoutMs={} | responseTimeoutSeconds={}",
+                baseUrl, connectTimeoutMs, responseTimeoutSeconds);
+
+        HttpClient httpClient = HttpClient.create(openaiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                // time to the response headers; LLM completions can take long, the per-call timeout caps the total
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds))
+                .compress(true);
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                // http.client.requests per attempt, and trace context sent to the provider when tracing is on
+                .observationRegistry(observationRegistry)
                 .build();
     }
 
@@ -0,0 +1,14 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * The columns authentication needs, selected without touching CV data or profile collections.
+ */
+public interface CandidateAuthView {
+    Long getId();
+
+    String getEmail();
+
+    String getPassword();
+
+    boolean isEnabled();
+}
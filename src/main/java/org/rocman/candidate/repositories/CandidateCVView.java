@@ -0,0 +1,18 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * CV metadata of a candidate, read without hydrating the rest of the row.
+ */
+public interface CandidateCVView {
+    Long getId();
+
+    String getEmail();
+
+    String getCvSha256();
+
+    Long getCvSize();
+
+    String getCvMimeType();
+
+    String getCvFileName();
+}
@@ -1,26 +1,96 @@
 package org.rocman.candidate.repositories;
 
-
+import jakarta.persistence.QueryHint;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
 import org.rocman.candidate.entities.Candidate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CandidateRepository extends JpaRepository<Candidate, Long> {
 
+    /**
+     * Listing filters; a null parameter matches every candidate. {@code skillId} is a skill definition id,
+     * {@code language} and {@code languageLevel} are compared lower-cased.
+     */
+    String SUMMARY_FILTER = "(:enabled IS NULL OR c.enabled = :enabled) " +
+            "AND (:skillId IS NULL OR EXISTS (SELECT 1 FROM Skill s WHERE s.candidate = c AND s.definition.id = :skillId)) " +
+            "AND ((:language IS NULL AND :languageLevel IS NULL) OR EXISTS (SELECT 1 FROM Language l WHERE l.candidate = c " +
+            "AND (:language IS NULL OR LOWER(l.language) = :language) " +
+            "AND (:languageLevel IS NULL OR LOWER(l.level) = :languageLevel)))";
+
+    String SUMMARY_COLUMNS = "SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.email AS email, " +
+            "c.enabled AS enabled FROM Candidate c ";
+
     Optional<Candidate> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     boolean existsByPhoneNumber(String phoneNumber);
 
-    @Query("SELECT c FROM Candidate c " +
-            "LEFT JOIN FETCH c.educations " +
-            "LEFT JOIN FETCH c.experiences " +
-            "LEFT JOIN FETCH c.skills " +
-            "LEFT JOIN FETCH c.languages " +
-            "WHERE c.id = :id")
-    Optional<Candidate> findByIdWithAllRelations(@Param("id") Long id);
+    Optional<CandidateCVView> findCVViewById(Long id);
+
+    Optional<CandidateAuthView> findAuthViewByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Candidate c SET c.password = :password WHERE c.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    List<CandidateSummaryView> findSummaryByIdInOrderByIdAsc(Collection<Long> ids);
+
+    Optional<CandidateSearchDocumentView> findSearchDocumentById(Long id);
+
+    @Query("SELECT c.id AS id, c.cvText AS cvText FROM Candidate c WHERE c.id > :after AND c.cvText IS NOT NULL ORDER BY c.id")
+    List<CandidateSearchDocumentView> findSearchDocumentsAfter(@Param("after") long after, Pageable page);
+
+    @Query(SUMMARY_COLUMNS + "WHERE c.id > :after AND " + SUMMARY_FILTER + " ORDER BY c.id")
+    List<CandidateSummaryView> findSummariesAfter(@Param("after") long after,
+                                                  @Param("enabled") Boolean enabled,
+                                                  @Param("skillId") Long skillId,
+                                                  @Param("language") String language,
+                                                  @Param("languageLevel") String languageLevel,
+                                                  Pageable page);
+
+    /**
+     * Every matching summary in id order, read through a server-side cursor: rows arrive in batches of the fetch
+     * size and projections are not kept by the persistence context. Close the stream, inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SUMMARY_COLUMNS + "WHERE " + SUMMARY_FILTER + " ORDER BY c.id")
+    Stream<CandidateSummaryView> streamSummaries(@Param("enabled") Boolean enabled,
+                                                 @Param("skillId") Long skillId,
+                                                 @Param("language") String language,
+                                                 @Param("languageLevel") String languageLevel);
+
+    /**
+     * The candidate with its education, experience, skill and language collections loaded, for mapping outside
+     * the session. Each collection is read by its own keyed query (or taken from the second-level cache), so a
+     * profile costs the sum of its rows instead of their product, as fetching the four collections in one join
+     * would. Call inside a transaction.
+     */
+    default Optional<Candidate> findProfileById(Long id) {
+        Optional<Candidate> candidate = findById(id);
+        candidate.ifPresent(c -> {
+            Hibernate.initialize(c.getEducations());
+            Hibernate.initialize(c.getExperiences());
+            Hibernate.initialize(c.getSkills());
+            Hibernate.initialize(c.getLanguages());
+        });
+        return candidate;
+    }
 }
\ No newline at end of file
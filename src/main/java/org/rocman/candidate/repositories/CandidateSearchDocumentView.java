@@ -0,0 +1,10 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * The CV text of a candidate, read for the full-text index without the rest of the row.
+ */
+public interface CandidateSearchDocumentView {
+    Long getId();
+
+    String getCvText();
+}
@@ -0,0 +1,16 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * The columns a search result or the candidate listing shows, read without the profile collections or the CV text.
+ */
+public interface CandidateSummaryView {
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    boolean isEnabled();
+}
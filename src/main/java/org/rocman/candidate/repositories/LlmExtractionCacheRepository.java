@@ -0,0 +1,22 @@
+package org.rocman.candidate.repositories;
+
+import org.rocman.candidate.entities.LlmExtractionCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface LlmExtractionCacheRepository extends JpaRepository<LlmExtractionCacheEntry, String> {
+
+    @Query("SELECT e.cacheKey FROM LlmExtractionCacheEntry e WHERE e.createdAt < :before OR e.createdAt IS NULL")
+    List<String> findExpiredKeys(@Param("before") LocalDateTime before, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM LlmExtractionCacheEntry e WHERE e.cacheKey IN :keys")
+    int deleteByCacheKeyIn(@Param("keys") Collection<String> keys);
+}
@@ -0,0 +1,10 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * One normalized alias of the skill dictionary and the definition it resolves to.
+ */
+public interface SkillAliasView {
+    Long getId();
+
+    String getAlias();
+}
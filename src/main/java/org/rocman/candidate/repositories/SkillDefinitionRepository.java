@@ -0,0 +1,18 @@
+package org.rocman.candidate.repositories;
+
+import org.rocman.candidate.entities.SkillDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SkillDefinitionRepository extends JpaRepository<SkillDefinition, Long> {
+
+    @Query("SELECT d.id FROM SkillDefinition d JOIN d.aliases a WHERE a = :alias")
+    Optional<Long> findIdByAlias(@Param("alias") String alias);
+
+    @Query("SELECT d.id AS id, a AS alias FROM SkillDefinition d JOIN d.aliases a")
+    List<SkillAliasView> findAllAliases();
+}
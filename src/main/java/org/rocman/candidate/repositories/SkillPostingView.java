@@ -0,0 +1,12 @@
+package org.rocman.candidate.repositories;
+
+/**
+ * A (candidate, skill definition) pair of the skill search index, keyed by the skill row id for keyset paging.
+ */
+public interface SkillPostingView {
+    Long getId();
+
+    Long getCandidateId();
+
+    Long getSkillId();
+}
@@ -1,6 +1,22 @@
 package org.rocman.candidate.repositories;
 
 import org.rocman.candidate.entities.Skill;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface SkillRepository extends JpaRepository<Skill, Long> {}
+import java.util.List;
+
+public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    @Query("SELECT s.id AS id, s.candidate.id AS candidateId, s.definition.id AS skillId FROM Skill s " +
+            "WHERE s.id > :after AND s.definition IS NOT NULL ORDER BY s.id")
+    List<SkillPostingView> findPostingsAfter(@Param("after") long after, Pageable page);
+
+    @Query("SELECT DISTINCT s.definition.id FROM Skill s WHERE s.candidate.id = :candidateId AND s.definition IS NOT NULL")
+    List<Long> findDefinitionIdsByCandidateId(@Param("candidateId") Long candidateId);
+
+    @Query("SELECT s FROM Skill s WHERE s.id > :after AND s.definition IS NULL ORDER BY s.id")
+    List<Skill> findUnlinkedAfter(@Param("after") long after, Pageable page);
+}
@@ -2,9 +2,15 @@ package org.rocman.candidate.repositories;
 
 import org.rocman.candidate.entities.Candidate;
 import org.rocman.candidate.entities.VerificationToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Long> {
@@ -12,5 +18,10 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
 
     Optional<VerificationToken> findByCandidate(Candidate candidate);
 
-    long countByCandidateAndCreatedAtAfter(Candidate candidate, LocalDateTime after);
+    @Query("SELECT t.id FROM VerificationToken t WHERE t.expiryDate < :before")
+    List<Long> findExpiredIds(@Param("before") LocalDateTime before, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
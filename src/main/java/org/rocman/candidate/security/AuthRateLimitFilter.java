@@ -0,0 +1,243 @@
+package org.rocman.candidate.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rate limits {@code /api/auth/**} per client IP and, where the request names an account, per email. It runs
+ * ahead of the JWT filter, so a rejected request never reaches the database or BCrypt.
+ * <p>
+ * The IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy set {@code server.forward-headers-strategy}
+ * so it is the client address and not the proxy's.
+ */
+@Log4j2
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PREFIX = "/api/auth/";
+    private static final String DEFAULT_ENDPOINT = "default";
+    private static final int MAX_LOGIN_BODY_BYTES = 16 * 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final TokenBucketStore buckets;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, Rule> rules;
+    private final Rule defaultRule;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${auth.rate-limit.stripes:16}") int stripes,
+                               @Value("${auth.rate-limit.max-entries:100000}") int maxEntries,
+                               @Value("${auth.rate-limit.login.ip:20/1m}") String loginIp,
+                               @Value("${auth.rate-limit.login.email:10/15m}") String loginEmail,
+                               @Value("${auth.rate-limit.register.ip:10/1h}") String registerIp,
+                               @Value("${auth.rate-limit.resend-verification.ip:10/1h}") String resendIp,
+                               @Value("${auth.rate-limit.resend-verification.email:3/1h}") String resendEmail,
+                               @Value("${auth.rate-limit.request-password-reset.ip:10/1h}") String resetRequestIp,
+                               @Value("${auth.rate-limit.request-password-reset.email:3/1h}") String resetRequestEmail,
+                               @Value("${auth.rate-limit.token.ip:30/1m}") String tokenIp,
+                               @Value("${auth.rate-limit.default.ip:60/1m}") String defaultIp) {
+        this.buckets = new TokenBucketStore(stripes, maxEntries);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.rules = Map.of(
+                "login", Rule.of(loginIp, loginEmail),
+                "register", Rule.of(registerIp, null),
+                "resend-verification", Rule.of(resendIp, resendEmail),
+                "request-password-reset", Rule.of(resetRequestIp, resetRequestEmail),
+                // token guessing on the links sent by email
+                "verify", Rule.of(tokenIp, null),
+                "reset-password", Rule.of(tokenIp, null));
+        this.defaultRule = Rule.of(defaultIp, null);
+
+        Gauge.builder("auth.rate_limit.buckets", buckets, TokenBucketStore::size)
+                .description("Active rate limit buckets")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getServletPath().startsWith(AUTH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getServletPath().substring(AUTH_PREFIX.length());
+        // unmapped paths share one bucket and metric tag, so clients cannot mint new ones
+        String endpoint = rules.containsKey(path) ? path : DEFAULT_ENDPOINT;
+        Rule rule = rules.getOrDefault(endpoint, defaultRule);
+        String ip = request.getRemoteAddr();
+        long now = System.nanoTime();
+
+        long waitNanos = buckets.tryAcquire(endpoint + "|ip|" + ip, rule.perIp(), now);
+        if (waitNanos > 0) {
+            reject(response, endpoint, "ip", ip, null, waitNanos);
+            return;
+        }
+
+        if (rule.perEmail() != null) {
+            HttpServletRequest forwarded = request;
+            String email;
+            if ("login".equals(endpoint) && request.getContentLengthLong() <= MAX_LOGIN_BODY_BYTES) {
+                // also taken when the length is unknown (chunked); at most MAX_LOGIN_BODY_BYTES + 1 are buffered
+                CachedBodyRequest cached = new CachedBodyRequest(request, MAX_LOGIN_BODY_BYTES);
+                forwarded = cached;
+                email = cached.complete ? emailFromJson(cached.prefix) : null;
+            } else if (!"login".equals(endpoint)) {
+                email = request.getParameter("email");
+            } else {
+                email = null;
+            }
+
+            if (email != null && !email.isBlank()) {
+                email = email.trim().toLowerCase(Locale.ROOT);
+                waitNanos = buckets.tryAcquire(endpoint + "|email|" + email, rule.perEmail(), now);
+                if (waitNanos > 0) {
+                    reject(response, endpoint, "email", ip, email, waitNanos);
+                    return;
+                }
+            }
+            filterChain.doFilter(forwarded, response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String key, String ip, String email,
+                        long waitNanos) throws IOException {
+        long retryAfterSeconds = (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+        meterRegistry.counter("auth.rate_limit.rejected", "endpoint", endpoint, "key", key).increment();
+        log.warn("Auth request rate limited | endpoint={} | key={} | ip={} | email={} | retryAfterSeconds={}",
+                endpoint, key, ip, email, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Too many requests. Please try again in " + retryAfterSeconds + " seconds.");
+    }
+
+    private String emailFromJson(byte[] body) {
+        if (body.length == 0 || body.length > MAX_LOGIN_BODY_BYTES) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText() : null;
+        } catch (IOException e) {
+            // malformed JSON is rejected by the controller; only the IP limit applies
+            return null;
+        }
+    }
+
+    private record Rule(TokenBucketStore.Limit perIp, TokenBucketStore.Limit perEmail) {
+
+        static Rule of(String perIp, String perEmail) {
+            return new Rule(TokenBucketStore.Limit.parse(perIp),
+                    perEmail == null || perEmail.isBlank() ? null : TokenBucketStore.Limit.parse(perEmail));
+        }
+    }
+
+    /**
+     * Reads up to {@code limit + 1} bytes of the body so the email can be taken from it, then replays them to the
+     * controller followed by whatever was left unread. {@code complete} is false when the body is longer than
+     * {@code limit}; only the IP limit applies then.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final boolean complete;
+
+        CachedBodyRequest(HttpServletRequest request, int limit) throws IOException {
+            super(request);
+            this.prefix = request.getInputStream().readNBytes(limit + 1);
+            this.complete = prefix.length <= limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            ByteArrayInputStream buffered = new ByteArrayInputStream(prefix);
+            ServletInputStream rest = complete ? null : super.getInputStream();
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return buffered.available() == 0 && (rest == null || rest.isFinished());
+                }
+
+                @Override
+                public boolean isReady() {
+                    return buffered.available() > 0 || rest == null || rest.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (rest != null) {
+                        // the container signals when the unread rest arrives; reads drain the prefix first
+                        rest.setReadListener(listener);
+                        return;
+                    }
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() throws IOException {
+                    if (buffered.available() > 0) {
+                        return buffered.read();
+                    }
+                    return rest == null ? -1 : rest.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (buffered.available() > 0) {
+                        return buffered.read(b, off, len);
+                    }
+                    return rest == null ? -1 : rest.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
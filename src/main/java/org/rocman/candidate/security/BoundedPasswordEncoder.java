@@ -0,0 +1,176 @@
+package org.rocman.candidate.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a dedicated, bounded pool, so a login burst queues behind a few hashing threads instead of taking
+ * every request thread and core. When the queue is full, or a caller has waited longer than the wait timeout,
+ * it fails fast with {@link TaskRejectedException}; controllers answer 503.
+ * <p>
+ * {@link #upgradeEncoding} reports every hash whose cost differs from the configured strength, so with a
+ * {@code UserDetailsPasswordService} in place the cost can be raised or lowered and existing hashes follow on
+ * the next successful login.
+ */
+@Log4j2
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMs;
+    private final long targetMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long waitTimeoutMs, long targetMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.targetMs = targetMs;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode")
+                .description("BCrypt work time").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash").tag("op", "matches")
+                .description("BCrypt work time").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a hashing task waited for a free hashing thread").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Hashing requests refused because the pool was saturated").register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || !BCRYPT_COST.matcher(encodedPassword).find()) {
+            // not a BCrypt hash (e.g. the placeholder of imported accounts); nothing to compute
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find() || Integer.parseInt(matcher.group(1)) == strength) {
+            return false;
+        }
+        // a rehash costs a second hash; under load it waits for a later login
+        return executor.getQueue().remainingCapacity() > executor.getQueue().size();
+    }
+
+    /**
+     * Times one hash at the configured cost on this machine and logs the cost that would fit the target;
+     * each cost step doubles the work.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        long startedAt = System.nanoTime();
+        delegate.encode("calibration");
+        long hashMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        int suggested = strength;
+        long estimateMs = hashMs;
+        while (suggested < 31 && estimateMs * 2 <= targetMs) {
+            suggested++;
+            estimateMs *= 2;
+        }
+        while (suggested > 4 && estimateMs > targetMs) {
+            suggested--;
+            estimateMs /= 2;
+        }
+        if (suggested == strength) {
+            log.info("Password hashing calibrated | strength={} | hashMs={} | targetMs={} | threads={}",
+                    strength, hashMs, targetMs, executor.getMaximumPoolSize());
+        } else {
+            log.warn("Password hashing cost off target | strength={} | hashMs={} | targetMs={} | suggestedStrength={}",
+                    strength, hashMs, targetMs, suggested);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> work, Timer workTimer) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(Duration.ofNanos(System.nanoTime() - submittedAt));
+                return workTimer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing rejected | reason=queue full | queued={} | active={}",
+                    executor.getQueue().size(), executor.getActiveCount());
+            throw new TaskRejectedException("Password hashing capacity exhausted", e);
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing rejected | reason=wait timeout | timeoutMs={} | queued={}",
+                    waitTimeoutMs, executor.getQueue().size());
+            throw new TaskRejectedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
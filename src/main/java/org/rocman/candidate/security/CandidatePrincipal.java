@@ -0,0 +1,68 @@
+package org.rocman.candidate.security;
+
+import lombok.Getter;
+import org.rocman.candidate.repositories.CandidateAuthView;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable authenticated principal. Instances are cached by {@link CandidatePrincipalCache}, so this
+ * class deliberately does not implement {@code CredentialsContainer}: erasing credentials after login
+ * would wipe the password hash out of the shared cached instance.
+ * <p>
+ * Recruiters (the accounts listed in {@code auth.recruiter-emails}) hold {@link #RECRUITER_ROLE}, which
+ * guards the endpoints that create or read other candidates' accounts.
+ */
+@Getter
+public class CandidatePrincipal implements UserDetails {
+
+    public static final String RECRUITER_ROLE = "RECRUITER";
+
+    private static final List<GrantedAuthority> RECRUITER_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_" + RECRUITER_ROLE));
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final boolean emailVerified;
+    private final boolean recruiter;
+
+    public CandidatePrincipal(Long id, String email, String password, boolean emailVerified, boolean recruiter) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.emailVerified = emailVerified;
+        this.recruiter = recruiter;
+    }
+
+    public static CandidatePrincipal from(CandidateAuthView view, boolean recruiter) {
+        return new CandidatePrincipal(view.getId(), view.getEmail(), view.getPassword(), view.isEnabled(), recruiter);
+    }
+
+    @Override
+    public String getUsername() {
+        return this.email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return recruiter ? RECRUITER_AUTHORITIES : List.of();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    // Same rule as Candidate#isEnabled: unverified accounts are not blocked at login.
+    @Override
+    public boolean isEnabled() { return true; }
+}
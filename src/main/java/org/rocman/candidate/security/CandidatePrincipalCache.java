@@ -0,0 +1,65 @@
+package org.rocman.candidate.security;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authentication principals per subject (email), so JWT-authenticated requests
+ * do not read the candidates table every time. Entries must be evicted whenever the password, the
+ * email or the enabled flag of a candidate changes.
+ */
+@Log4j2
+@Component
+public class CandidatePrincipalCache {
+
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public CandidatePrincipalCache(@Value("${auth.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                                   @Value("${auth.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<CandidatePrincipal> get(String email, Function<String, Optional<CandidatePrincipal>> loader) {
+        long now = System.nanoTime();
+        CachedPrincipal cached = entries.get(email);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return Optional.of(cached.principal());
+        }
+
+        Optional<CandidatePrincipal> loaded = loader.apply(email);
+        loaded.ifPresentOrElse(principal -> put(email, principal, now), () -> entries.remove(email));
+        return loaded;
+    }
+
+    public void evict(String email) {
+        if (email != null && entries.remove(email) != null) {
+            log.debug("Principal evicted from cache | email={}", email);
+        }
+    }
+
+    private void put(String email, CandidatePrincipal principal, long now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() >= maxEntries && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        entries.put(email, new CachedPrincipal(principal, now + ttlNanos));
+    }
+
+    private record CachedPrincipal(CandidatePrincipal principal, long expiresAt) {
+    }
+}
@@ -1,5 +1,7 @@
 package org.rocman.candidate.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,12 +12,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Log4j2
 @Component
@@ -23,11 +28,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final Map<JwtUtil.TokenValidationStatus, Timer> validationTimers = new EnumMap<>(JwtUtil.TokenValidationStatus.class);
 
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        for (JwtUtil.TokenValidationStatus status : JwtUtil.TokenValidationStatus.values()) {
+            validationTimers.put(status, Timer.builder("auth.jwt.validation").tag("status", status.name())
+                    .description("Bearer token validation by outcome").register(meterRegistry));
+        }
     }
 
     @Override
@@ -40,42 +50,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(token);
-            } catch (Exception e) {
-                log.warn("Token parsing error | reason={} | ip={} | token={} |request={} | timestamp={}",
-                        e.getMessage(), request.getRemoteAddr(), token, request.getRequestURI(), LocalDateTime.now());
+            long startedAt = System.nanoTime();
+            JwtUtil.ParsedToken parsedToken = jwtUtil.parseToken(token);
+            validationTimers.get(parsedToken.status()).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (parsedToken.isValid()) {
+                username = parsedToken.subject();
+            } else {
+                log.warn("Authentication failed | reason={} | ip={} | token={} |request={}",
+                        parsedToken.status(), request.getRemoteAddr(), token, request.getRequestURI());
             }
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-
             try {
-                JwtUtil.TokenValidationStatus status = jwtUtil.validateTokenDetailed(token);
-                if (status == JwtUtil.TokenValidationStatus.VALID) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities()
-                            );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities()
+                        );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.info("Authentication successful | user={} | ip={} | timestamp={}",
-                            username, request.getRemoteAddr(), LocalDateTime.now());
-                } else {
-                    log.warn("Authentication failed | reason={} | user={} | ip={} | token={} |request={} | timestamp={}",
-                            status, username, request.getRemoteAddr(), token, request.getRequestURI(), LocalDateTime.now());
-                }
-            } catch (Exception e) {
-                log.error("Authentication error during token validation | reason={} | user={} | ip={} | timestamp={}",
-                        e.getMessage(), username, request.getRemoteAddr(), LocalDateTime.now());
+                log.debug("Authentication successful | user={} | ip={}",
+                        username, request.getRemoteAddr());
+            } catch (UsernameNotFoundException e) {
+                log.warn("Authentication failed | reason=user not found | user={} | ip={} | request={}",
+                        username, request.getRemoteAddr(), request.getRequestURI());
             }
         } else if (username == null && authHeader != null) {
-            log.warn("Unauthorized access attempt blocked | ip={} | request={} | timestamp={}",
-                    request.getRemoteAddr(), request.getRequestURI(), LocalDateTime.now());
+            log.warn("Unauthorized access attempt blocked | ip={} | request={}",
+                    request.getRemoteAddr(), request.getRequestURI());
         }
 
         filterChain.doFilter(request, response);
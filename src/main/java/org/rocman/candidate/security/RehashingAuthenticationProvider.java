@@ -0,0 +1,48 @@
+package org.rocman.candidate.security;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link DaoAuthenticationProvider} that rehashes the password of a successful login whose stored hash needs
+ * an upgrade, like the stock provider with a {@code UserDetailsPasswordService}, except that a rehash the
+ * {@link BoundedPasswordEncoder} refuses under load is skipped: the password was already verified, so the login
+ * succeeds and the hash is upgraded on a later one.
+ */
+@Log4j2
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsPasswordService passwordService;
+
+    public RehashingAuthenticationProvider(UserDetailsService userDetailsService,
+                                           UserDetailsPasswordService passwordService,
+                                           PasswordEncoder passwordEncoder) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.passwordEncoder = passwordEncoder;
+        this.passwordService = passwordService;
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (authentication.getCredentials() != null && passwordEncoder.upgradeEncoding(user.getPassword())) {
+            try {
+                String newPassword = passwordEncoder.encode(authentication.getCredentials().toString());
+                user = passwordService.updatePassword(user, newPassword);
+                principal = user;
+            } catch (TaskRejectedException e) {
+                log.warn("Password rehash skipped, hashing pool saturated | email={} | reason={}",
+                        user.getUsername(), e.getMessage());
+            }
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -1,18 +1,23 @@
 package org.rocman.candidate.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.rocman.candidate.services.CandidateDetailsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,36 +28,55 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final CandidateDetailsService candidateDetailsService;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          AuthRateLimitFilter authRateLimitFilter,
                           CandidateDetailsService candidateDetailsService) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.authRateLimitFilter = authRateLimitFilter;
         this.candidateDetailsService = candidateDetailsService;
         log.info("SecurityConfig initialized with JwtAuthenticationFilter and CandidateDetailsService");
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider,
+                                                   Environment environment) throws Exception {
+        if (environment.acceptsProfiles(Profiles.of("llm-stub"))) {
+            // the stub controller is only mapped with this profile; elsewhere the path stays behind authentication
+            http.authorizeHttpRequests(auth -> auth.requestMatchers("/llm-stub/**").permitAll());
+        }
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/verify", "/api/auth/resend-verification", "/api/auth/request-password-reset", "/api/auth/reset-password", "/error").permitAll()
+                        // scraped without a token; in the prod profile actuator is only on the loopback management port
+                        .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class)).permitAll()
+                        // creates accounts for the emails and phones of the uploaded CVs
+                        .requestMatchers("/api/candidates/bulk-import").hasRole(CandidatePrincipal.RECRUITER_ROLE)
+                        // list and export every account's name and email
+                        .requestMatchers(HttpMethod.GET, "/api/candidates", "/api/candidates/export")
+                        .hasRole(CandidatePrincipal.RECRUITER_ROLE)
+                        // both searches share the path: ?q= returns names, emails and highlighted CV text,
+                        // ?skills= every candidate's name and email by skill
+                        .requestMatchers(HttpMethod.GET, "/api/candidates/search")
+                        .hasRole(CandidatePrincipal.RECRUITER_ROLE)
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .authenticationProvider(authenticationProvider)
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(candidateDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
+        // rehashes on successful login when the stored BCrypt cost differs from auth.bcrypt.strength
+        return new RehashingAuthenticationProvider(candidateDetailsService, candidateDetailsService, passwordEncoder);
     }
 
     @Bean
@@ -60,8 +84,15 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                                 @Value("${auth.bcrypt.strength:10}") int strength,
+                                                 @Value("${auth.bcrypt.threads:0}") int threads,
+                                                 @Value("${auth.bcrypt.queue-capacity:100}") int queueCapacity,
+                                                 @Value("${auth.bcrypt.wait-timeout-ms:3000}") long waitTimeoutMs,
+                                                 @Value("${auth.bcrypt.target-ms:250}") long targetMs) {
+        // by default half the cores, so hashing bursts leave room for the rest of the application
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, waitTimeoutMs, targetMs, meterRegistry);
     }
 }
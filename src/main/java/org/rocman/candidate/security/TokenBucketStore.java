@@ -0,0 +1,165 @@
+package org.rocman.candidate.security;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token buckets keyed by string. Each bucket is a single {@link AtomicLong} holding its
+ * "theoretical arrival time" (GCRA): a bucket with capacity {@code n} refilled one token every {@code T}
+ * accepts a request while that time is at most {@code n * T} ahead of now, and every accepted request moves
+ * it forward by {@code T}. Updates are CAS loops, so there are no locks on the request path.
+ * <p>
+ * Buckets are spread over independently bounded stripes. A bucket whose time is in the past is full and can
+ * be dropped without changing any decision, so a full stripe first sweeps those; if it is still full, some
+ * active buckets are evicted as well, which forgives those keys rather than rejecting new ones.
+ */
+@Log4j2
+public class TokenBucketStore {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final int maxEntriesPerStripe;
+
+    public TokenBucketStore(int stripeCount, int maxEntries) {
+        int count = 1;
+        while (count < stripeCount) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.mask = count - 1;
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / count);
+    }
+
+    /**
+     * Takes one token from the bucket of {@code key}.
+     *
+     * @return 0 when the request is allowed, otherwise the nanoseconds until a token becomes available
+     */
+    public long tryAcquire(String key, Limit limit, long nowNanos) {
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= maxEntriesPerStripe) {
+                stripe.evict(nowNanos, maxEntriesPerStripe);
+            }
+            bucket = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        long interval = limit.intervalNanos();
+        long tolerance = limit.toleranceNanos();
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat - nowNanos, 0) + nowNanos + interval;
+            long ahead = next - nowNanos;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * {@code capacity} requests at once, refilled evenly over {@code period}.
+     */
+    public record Limit(int capacity, Duration period) {
+
+        public Limit {
+            if (capacity <= 0 || period.isNegative() || period.isZero()) {
+                throw new IllegalArgumentException("Rate limit needs a positive capacity and period: " + capacity + "/" + period);
+            }
+        }
+
+        /**
+         * Parses {@code "<capacity>/<period>"}, e.g. {@code "5/15m"} or {@code "20/PT1M"}.
+         */
+        public static Limit parse(String value) {
+            int slash = value.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rate limit must look like <capacity>/<period>: " + value);
+            }
+            int capacity = Integer.parseInt(value.substring(0, slash).trim());
+            String period = value.substring(slash + 1).trim();
+            return new Limit(capacity, period.startsWith("P") || period.startsWith("p")
+                    ? Duration.parse(period)
+                    : parseSimpleDuration(period));
+        }
+
+        long intervalNanos() {
+            return period.toNanos() / capacity;
+        }
+
+        long toleranceNanos() {
+            return intervalNanos() * capacity;
+        }
+
+        private static Duration parseSimpleDuration(String value) {
+            int unitAt = 0;
+            while (unitAt < value.length() && Character.isDigit(value.charAt(unitAt))) {
+                unitAt++;
+            }
+            if (unitAt == 0) {
+                throw new IllegalArgumentException("Invalid rate limit period: " + value);
+            }
+            long amount = Long.parseLong(value.substring(0, unitAt));
+            return switch (value.substring(unitAt)) {
+                case "s" -> Duration.ofSeconds(amount);
+                case "m" -> Duration.ofMinutes(amount);
+                case "h" -> Duration.ofHours(amount);
+                case "d" -> Duration.ofDays(amount);
+                default -> throw new IllegalArgumentException("Invalid rate limit period: " + value);
+            };
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        void evict(long nowNanos, int maxEntries) {
+            // one sweeper per stripe; concurrent inserts may overshoot the bound by a few entries meanwhile
+            if (!evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+                int target = maxEntries - Math.max(1, maxEntries / 8);
+                if (buckets.size() <= target) {
+                    return;
+                }
+                int forgiven = 0;
+                Iterator<AtomicLong> it = buckets.values().iterator();
+                while (buckets.size() > target && it.hasNext()) {
+                    it.next();
+                    it.remove();
+                    forgiven++;
+                }
+                log.warn("Rate limit store full, active buckets evicted | evicted={} | stripeSize={}", forgiven, buckets.size());
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package org.rocman.candidate.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.BulkImportEntryResultDTO;
+import org.rocman.candidate.dtos.BulkImportSummaryDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.entities.Candidate;
+import org.rocman.candidate.services.CVPipelineObservations.Source;
+import org.rocman.candidate.services.CVPipelineObservations.Stage;
+import org.rocman.candidate.utils.CVIngestionUtil;
+import org.rocman.candidate.utils.SpooledCV;
+import org.rocman.candidate.utils.WorkerThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports batches of CVs sent by recruiting agencies. Archive entries are read sequentially from the
+ * upload stream and spooled one by one; parsing and LLM extraction run on a shared bounded pool, new
+ * candidates are saved in batches, and one NDJSON line is written per entry followed by a summary line.
+ */
+@Log4j2
+@Service
+public class BulkCVImportService {
+
+    private final CVIngestionUtil cvIngestionUtil;
+    private final CVLlmDataExtractor cvLlmDataExtractor;
+    private final CVStorageService cvStorageService;
+    private final CandidateService candidateService;
+    private final CVPipelineObservations observations;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final int maxEntries;
+
+    public BulkCVImportService(CVIngestionUtil cvIngestionUtil,
+                               CVLlmDataExtractor cvLlmDataExtractor,
+                               CVStorageService cvStorageService,
+                               CandidateService candidateService,
+                               CVPipelineObservations observations,
+                               ObjectMapper objectMapper,
+                               WorkerThreads workerThreads,
+                               @Value("${cv.bulk-import.workers:4}") int workers,
+                               @Value("${cv.bulk-import.max-in-flight:8}") int maxInFlight,
+                               @Value("${cv.bulk-import.batch-size:25}") int batchSize,
+                               @Value("${cv.bulk-import.max-entries:1000}") int maxEntries) {
+        this.cvIngestionUtil = cvIngestionUtil;
+        this.cvLlmDataExtractor = cvLlmDataExtractor;
+        this.cvStorageService = cvStorageService;
+        this.candidateService = candidateService;
+        this.observations = observations;
+        this.objectMapper = objectMapper;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+        this.maxEntries = maxEntries;
+
+        this.executor = Executors.newFixedThreadPool(workers, workerThreads.factory("cv-bulk-import-"));
+    }
+
+    public void importArchive(InputStream archive, OutputStream out) throws IOException {
+        ImportRun run = new ImportRun(out);
+        try (ZipInputStream zip = new ZipInputStream(archive)) {
+            ZipEntry entry;
+            while (!run.isAborted() && (entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory() || isHidden(entry.getName())) {
+                    continue;
+                }
+                if (!run.submit(entry.getName(), StreamUtils.nonClosing(zip))) {
+                    break;
+                }
+            }
+        } finally {
+            run.finish();
+        }
+    }
+
+    public void importFiles(List<MultipartFile> files, OutputStream out) throws IOException {
+        ImportRun run = new ImportRun(out);
+        try {
+            for (MultipartFile file : files) {
+                if (run.isAborted() || !run.submit(file.getOriginalFilename(), file.getInputStream())) {
+                    break;
+                }
+            }
+        } finally {
+            run.finish();
+        }
+    }
+
+    private static boolean isHidden(String name) {
+        String baseName = name.substring(name.lastIndexOf('/') + 1);
+        return name.startsWith("__MACOSX/") || baseName.startsWith(".");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private record PendingCandidate(String entry, long startedAt, Candidate candidate,
+                                    CandidateProfileDTO parsedDto, CVStorageService.StoredCV stored,
+                                    String extractedText) {
+    }
+
+    /**
+     * State of one import request: in-flight limit, pending batch, counters and the NDJSON writer.
+     */
+    private class ImportRun {
+
+        private final OutputStream out;
+        private final long startedAt = System.nanoTime();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final List<Future<?>> tasks = new ArrayList<>();
+        private final Set<String> seenKeys = ConcurrentHashMap.newKeySet();
+        private final List<PendingCandidate> batch = new ArrayList<>();
+        // locks rather than synchronized: a virtual thread blocking inside a monitor pins its carrier (JDK 21-23)
+        private final ReentrantLock batchLock = new ReentrantLock();
+        private final ReentrantLock outLock = new ReentrantLock();
+        private final AtomicInteger entries = new AtomicInteger();
+        private final AtomicInteger imported = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile boolean aborted;
+
+        ImportRun(OutputStream out) {
+            this.out = out;
+        }
+
+        boolean isAborted() {
+            return aborted;
+        }
+
+        boolean submit(String entry, InputStream content) throws IOException {
+            if (entries.get() >= maxEntries) {
+                writeResult(entry, "FAILED", null, null, "Import limited to " + maxEntries + " entries", System.nanoTime());
+                failed.incrementAndGet();
+                return false;
+            }
+            entries.incrementAndGet();
+            long entryStartedAt = System.nanoTime();
+
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aborted = true;
+                return false;
+            }
+
+            SpooledCV cv;
+            try {
+                cv = cvIngestionUtil.spool(content, entry);
+            } catch (IllegalArgumentException | IOException e) {
+                inFlight.release();
+                fail(entry, e.getMessage(), entryStartedAt);
+                return true;
+            }
+
+            tasks.add(executor.submit(observations.propagate(() -> {
+                try {
+                    process(entry, cv, entryStartedAt);
+                } finally {
+                    inFlight.release();
+                }
+            })));
+            return true;
+        }
+
+        private void process(String entry, SpooledCV spooled, long entryStartedAt) {
+            try (spooled) {
+                candidateService.validateCVType(spooled);
+                String extractedText = observations.observe(Stage.PARSE, Source.BULK,
+                        () -> cvIngestionUtil.extractText(spooled));
+                CandidateProfileDTO parsedDto = observations.observe(Stage.EXTRACT, Source.BULK,
+                        () -> cvLlmDataExtractor.extractCandidateProfile(extractedText));
+                CVStorageService.StoredCV stored = observations.observe(Stage.STORE, Source.BULK,
+                        () -> cvStorageService.store(spooled));
+                Candidate candidate = candidateService.buildImportedCandidate(parsedDto, stored, extractedText);
+
+                if (!seenKeys.add(candidate.getEmail()) || !seenKeys.add(candidate.getPhoneNumber())
+                        || candidateService.isRegistered(candidate.getEmail(), candidate.getPhoneNumber())) {
+                    skipped.incrementAndGet();
+                    writeResult(entry, "SKIPPED", null, candidate.getEmail(), "Candidate already exists", entryStartedAt);
+                    return;
+                }
+
+                addToBatch(new PendingCandidate(entry, entryStartedAt, candidate, parsedDto, stored, extractedText));
+            } catch (Exception e) {
+                log.warn("Bulk import entry failed | entry={} | reason={}", entry, e.getMessage());
+                fail(entry, e.getMessage(), entryStartedAt);
+            }
+        }
+
+        private void addToBatch(PendingCandidate pending) {
+            List<PendingCandidate> toFlush = null;
+            batchLock.lock();
+            try {
+                batch.add(pending);
+                if (batch.size() >= batchSize) {
+                    toFlush = new ArrayList<>(batch);
+                    batch.clear();
+                }
+            } finally {
+                batchLock.unlock();
+            }
+            if (toFlush != null) {
+                flush(toFlush);
+            }
+        }
+
+        private void flush(List<PendingCandidate> pending) {
+            try {
+                observations.observe(Stage.PERSIST, Source.BULK,
+                        () -> candidateService.saveImportedCandidates(pending.stream().map(PendingCandidate::candidate).toList()));
+                pending.forEach(this::imported);
+            } catch (Exception batchFailure) {
+                log.warn("Bulk import batch failed, retrying entries one by one | size={} | reason={}",
+                        pending.size(), batchFailure.getMessage());
+                for (PendingCandidate p : pending) {
+                    try {
+                        Candidate fresh = candidateService.buildImportedCandidate(p.parsedDto(), p.stored(), p.extractedText());
+                        candidateService.saveImportedCandidates(List.of(fresh));
+                        imported(new PendingCandidate(p.entry(), p.startedAt(), fresh, p.parsedDto(), p.stored(), p.extractedText()));
+                    } catch (Exception e) {
+                        fail(p.entry(), e.getMessage(), p.startedAt());
+                    }
+                }
+            }
+        }
+
+        private void imported(PendingCandidate p) {
+            imported.incrementAndGet();
+            writeResult(p.entry(), "IMPORTED", p.candidate().getId(), p.candidate().getEmail(), null, p.startedAt());
+        }
+
+        private void fail(String entry, String error, long entryStartedAt) {
+            failed.incrementAndGet();
+            writeResult(entry, "FAILED", null, null, error, entryStartedAt);
+        }
+
+        void finish() throws IOException {
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    log.error("Bulk import task crashed | reason={}", e.getMessage(), e);
+                }
+            }
+
+            List<PendingCandidate> remaining;
+            batchLock.lock();
+            try {
+                remaining = new ArrayList<>(batch);
+                batch.clear();
+            } finally {
+                batchLock.unlock();
+            }
+            if (!remaining.isEmpty()) {
+                flush(remaining);
+            }
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            BulkImportSummaryDTO summary = new BulkImportSummaryDTO();
+            summary.setEntries(entries.get());
+            summary.setImported(imported.get());
+            summary.setSkipped(skipped.get());
+            summary.setFailed(failed.get());
+            summary.setElapsedMs(elapsedMs);
+            summary.setEntriesPerSecond(elapsedMs > 0 ? entries.get() * 1000.0 / elapsedMs : entries.get());
+            writeLine(summary);
+
+            log.info("Bulk import finished | entries={} | imported={} | skipped={} | failed={} | elapsedMs={}",
+                    summary.getEntries(), summary.getImported(), summary.getSkipped(), summary.getFailed(), elapsedMs);
+        }
+
+        private void writeResult(String entry, String status, Long candidateId, String email, String error,
+                                 long entryStartedAt) {
+            BulkImportEntryResultDTO result = new BulkImportEntryResultDTO();
+            result.setEntry(entry);
+            result.setStatus(status);
+            result.setCandidateId(candidateId);
+            result.setEmail(email);
+            result.setError(error);
+            result.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entryStartedAt));
+            writeLine(result);
+        }
+
+        private void writeLine(Object line) {
+            if (aborted) {
+                return;
+            }
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(line);
+                outLock.lock();
+                try {
+                    out.write(json);
+                    out.write('\n');
+                    out.flush();
+                } finally {
+                    outLock.unlock();
+                }
+            } catch (IOException e) {
+                aborted = true;
+                log.warn("Bulk import client disconnected, stopping | reason={}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.entities.LlmExtractionCacheEntry;
+import org.rocman.candidate.repositories.LlmExtractionCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Two-tier cache of LLM extraction results (the raw JSON returned by the model), keyed by a SHA-256
+ * of the normalized CV text, model name and prompt version. The memory tier is an LRU bounded by size
+ * and TTL; the database tier survives restarts and is shared between instances. Expired database rows are
+ * purged on a schedule, one chunk per short transaction, like the expired tokens.
+ */
+@Log4j2
+@Service
+public class CVExtractionCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final LlmExtractionCacheRepository repository;
+    private final int maxEntries;
+    private final Duration memoryTtl;
+    private final Duration persistentTtl;
+    private final TransactionTemplate transactionTemplate;
+    private final int purgeChunkSize;
+    private final long purgePauseMs;
+    private final Map<String, CachedExtraction> memory;
+    // not synchronized: contended monitors pin virtual threads to their carrier on JDK 21-23
+    private final ReentrantLock memoryLock = new ReentrantLock();
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter purged;
+    private final Timer purgeTimer;
+
+    public CVExtractionCache(LlmExtractionCacheRepository repository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${llm.cache.memory.max-entries:1000}") int maxEntries,
+                             @Value("${llm.cache.memory.ttl-minutes:60}") long memoryTtlMinutes,
+                             @Value("${llm.cache.persistent.ttl-days:30}") long persistentTtlDays,
+                             @Value("${llm.cache.persistent.purge.chunk-size:1000}") int purgeChunkSize,
+                             @Value("${llm.cache.persistent.purge.pause-ms:50}") long purgePauseMs) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeChunkSize = purgeChunkSize;
+        this.purgePauseMs = purgePauseMs;
+        this.maxEntries = maxEntries;
+        this.memoryTtl = Duration.ofMinutes(memoryTtlMinutes);
+        this.persistentTtl = Duration.ofDays(persistentTtlDays);
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedExtraction> eldest) {
+                return size() > CVExtractionCache.this.maxEntries;
+            }
+        };
+
+        this.memoryHits = Counter.builder("llm.extraction.cache")
+                .tag("result", "hit").tag("tier", "memory")
+                .register(meterRegistry);
+        this.databaseHits = Counter.builder("llm.extraction.cache")
+                .tag("result", "hit").tag("tier", "database")
+                .register(meterRegistry);
+        this.misses = Counter.builder("llm.extraction.cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.purged = Counter.builder("llm.extraction.cache.purged")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("llm.extraction.cache.purge")
+                .register(meterRegistry);
+        Gauge.builder("llm.extraction.cache.size", this, CVExtractionCache::memorySize)
+                .register(meterRegistry);
+    }
+
+    public String key(String rawText, String model, String promptVersion) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(rawText, Normalizer.Form.NFC))
+                .replaceAll(" ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(promptVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        LocalDateTime now = LocalDateTime.now();
+
+        memoryLock.lock();
+        try {
+            CachedExtraction cached = memory.get(key);
+            if (cached != null) {
+                if (cached.expiresAt().isAfter(now)) {
+                    memoryHits.increment();
+                    return Optional.of(cached.payload());
+                }
+                memory.remove(key);
+            }
+        } finally {
+            memoryLock.unlock();
+        }
+
+        Optional<String> stored = repository.findById(key)
+                .filter(entry -> entry.getCreatedAt() != null && entry.getCreatedAt().plus(persistentTtl).isAfter(now))
+                .map(LlmExtractionCacheEntry::getPayload);
+
+        if (stored.isPresent()) {
+            databaseHits.increment();
+            putInMemory(key, stored.get());
+        } else {
+            misses.increment();
+        }
+        return stored;
+    }
+
+    public void put(String key, String model, String promptVersion, String payload) {
+        putInMemory(key, payload);
+
+        try {
+            LlmExtractionCacheEntry entry = new LlmExtractionCacheEntry();
+            entry.setCacheKey(key);
+            entry.setModel(model);
+            entry.setPromptVersion(promptVersion);
+            entry.setPayload(payload);
+            // save() merges when the key already exists (expired, unreadable or concurrently extracted entry)
+            entry.setCreatedAt(LocalDateTime.now());
+            repository.save(entry);
+        } catch (Exception e) {
+            log.warn("Could not persist LLM extraction cache entry | key={} | reason={}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${llm.cache.persistent.purge.cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        // get() already ignores these rows; deleting them keeps the table from growing with every distinct CV
+        LocalDateTime before = LocalDateTime.now().minus(persistentTtl);
+
+        long startedAt = System.nanoTime();
+        int total = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<String> keys = repository.findExpiredKeys(before, PageRequest.of(0, purgeChunkSize));
+                    return keys.isEmpty() ? 0 : repository.deleteByCacheKeyIn(keys);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted < purgeChunkSize) {
+                    break;
+                }
+                Thread.sleep(purgePauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("LLM extraction cache purge failed | purged={} | reason={}", total, e.getMessage(), e);
+        } finally {
+            purgeTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+
+        if (total > 0) {
+            log.info("Expired LLM extraction cache entries purged | count={} | elapsedMs={}",
+                    total, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private void putInMemory(String key, String payload) {
+        memoryLock.lock();
+        try {
+            memory.put(key, new CachedExtraction(payload, LocalDateTime.now().plus(memoryTtl)));
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private int memorySize() {
+        memoryLock.lock();
+        try {
+            return memory.size();
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private record CachedExtraction(String payload, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,198 @@
+package org.rocman.candidate.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.CVIngestionJobDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.services.CVPipelineObservations.Source;
+import org.rocman.candidate.services.CVPipelineObservations.Stage;
+import org.rocman.candidate.utils.CVIngestionUtil;
+import org.rocman.candidate.utils.SpooledCV;
+import org.rocman.candidate.utils.WorkerThreads;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs CV uploads as background jobs: the HTTP request only spools and validates the file,
+ * a bounded worker pool then runs the parse -> extract -> persist stages.
+ */
+@Log4j2
+@Service
+public class CVIngestionService {
+
+    private final CandidateService candidateService;
+    private final CVLlmDataExtractor cvLlmDataExtractor;
+    private final CVIngestionUtil cvIngestionUtil;
+    private final CVStorageService cvStorageService;
+    private final CVPipelineObservations observations;
+    private final ThreadPoolExecutor executor;
+    private final Duration jobRetention;
+    private final Map<UUID, CVIngestionJob> jobs = new ConcurrentHashMap<>();
+
+    public CVIngestionService(CandidateService candidateService,
+                              CVLlmDataExtractor cvLlmDataExtractor,
+                              CVIngestionUtil cvIngestionUtil,
+                              CVStorageService cvStorageService,
+                              CVPipelineObservations observations,
+                              WorkerThreads workerThreads,
+                              @Value("${cv.ingestion.workers:4}") int workers,
+                              @Value("${cv.ingestion.queue-capacity:100}") int queueCapacity,
+                              @Value("${cv.ingestion.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.candidateService = candidateService;
+        this.cvLlmDataExtractor = cvLlmDataExtractor;
+        this.cvIngestionUtil = cvIngestionUtil;
+        this.cvStorageService = cvStorageService;
+        this.observations = observations;
+        this.jobRetention = Duration.ofMinutes(jobRetentionMinutes);
+
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                workerThreads.factory("cv-ingest-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("CVIngestionService initialized | workers={} | queueCapacity={} | virtualThreads={}",
+                workers, queueCapacity, workerThreads.isVirtual());
+    }
+
+    public CVIngestionJobDTO submit(String email, MultipartFile file) throws IOException {
+        purgeExpiredJobs();
+
+        SpooledCV spooled = cvIngestionUtil.spool(file.getInputStream(), file.getOriginalFilename());
+        try {
+            candidateService.validateCVUpload(email, spooled);
+        } catch (RuntimeException e) {
+            spooled.close();
+            throw e;
+        }
+
+        CVIngestionJob job = new CVIngestionJob(UUID.randomUUID(), email);
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(observations.propagate(() -> process(job, spooled)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            spooled.close();
+            log.warn("CV ingestion rejected | reason=queue full | email={} | queued={}",
+                    email, executor.getQueue().size());
+            throw e;
+        }
+
+        log.info("CV ingestion job queued | jobId={} | email={} | mimeType={} | size={}",
+                job.getId(), email, spooled.getMimeType(), spooled.getSize());
+        return job.toDto();
+    }
+
+    public Optional<CVIngestionJobDTO> getJob(UUID jobId, String email) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getEmail().equals(email))
+                .map(CVIngestionJob::toDto);
+    }
+
+    private void process(CVIngestionJob job, SpooledCV spooled) {
+        try (spooled) {
+            job.moveTo(JobStatus.PARSING);
+            String extractedText = observations.observe(Stage.PARSE, Source.UPLOAD,
+                    () -> cvIngestionUtil.extractText(spooled));
+
+            job.moveTo(JobStatus.EXTRACTING);
+            CandidateProfileDTO parsedDto = observations.observe(Stage.EXTRACT, Source.UPLOAD,
+                    () -> cvLlmDataExtractor.extractCandidateProfile(extractedText));
+
+            job.moveTo(JobStatus.PERSISTING);
+            CVStorageService.StoredCV stored = observations.observe(Stage.STORE, Source.UPLOAD,
+                    () -> cvStorageService.store(spooled));
+            CandidateProfileDTO result = observations.observe(Stage.PERSIST, Source.UPLOAD, () -> {
+                candidateService.defineSkills(parsedDto.getSkills());
+                return candidateService.uploadCVByEmail(job.getEmail(), stored, extractedText, parsedDto);
+            });
+
+            job.complete(result);
+            log.info("CV ingestion job completed | jobId={} | email={}", job.getId(), job.getEmail());
+        } catch (Exception e) {
+            JobStatus failedStage = job.getStatus();
+            job.fail(e.getMessage());
+            log.error("CV ingestion job failed | jobId={} | email={} | stage={} | reason={}",
+                    job.getId(), job.getEmail(), failedStage, e.getMessage(), e);
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getStatus().isTerminal() && job.getUpdatedAt().isBefore(threshold));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public enum JobStatus {
+        QUEUED,
+        PARSING,
+        EXTRACTING,
+        PERSISTING,
+        COMPLETED,
+        FAILED;
+
+        boolean isTerminal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Getter
+    private static class CVIngestionJob {
+        private final UUID id;
+        private final String email;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile String error;
+        private volatile CandidateProfileDTO result;
+
+        CVIngestionJob(UUID id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+
+        void moveTo(JobStatus next) {
+            this.status = next;
+            this.updatedAt = LocalDateTime.now();
+        }
+
+        void complete(CandidateProfileDTO result) {
+            this.result = result;
+            moveTo(JobStatus.COMPLETED);
+        }
+
+        void fail(String error) {
+            this.error = error;
+            moveTo(JobStatus.FAILED);
+        }
+
+        CVIngestionJobDTO toDto() {
+            CVIngestionJobDTO dto = new CVIngestionJobDTO();
+            dto.setJobId(id);
+            dto.setStatus(status.name());
+            dto.setCreatedAt(createdAt);
+            dto.setUpdatedAt(updatedAt);
+            dto.setError(error);
+            dto.setResult(result);
+            return dto;
+        }
+    }
+}
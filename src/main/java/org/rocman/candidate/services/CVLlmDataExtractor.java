@@ -1,91 +1,359 @@
 package org.rocman.candidate.services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.rocman.candidate.dtos.CandidateProfileDTO;
-import org.rocman.candidate.dtos.LlmChatCompletionReqDTO;
-import org.rocman.candidate.dtos.LlmChatCompletionRespDTO;
+import org.rocman.candidate.utils.CVDataExtractor;
+import org.rocman.candidate.utils.CVSectionChunker;
+import org.rocman.candidate.utils.CandidateProfileMerger;
+import org.rocman.candidate.utils.StreamingProfileParser;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * CV text to {@link CandidateProfileDTO}. The rule-based {@link CVDataExtractor} goes first: when it is
+ * confident about every core field the LLM is skipped, otherwise only the sections it could not read are sent
+ * and its confident fields are merged ahead of the LLM result.
+ * <p>
+ * Text within {@code llm.extraction.single-call-max-tokens} goes out as one prompt; longer text is split by
+ * {@link CVSectionChunker} into section-aligned chunks within the per-call and per-CV token budgets, the chunks
+ * are extracted in parallel and the partial profiles merged by {@link CandidateProfileMerger}. Completions are
+ * streamed and parsed as they arrive by {@link StreamingProfileParser}, which also validates them against the
+ * profile schema. LLM results are cached under the full text.
+ */
 @Slf4j
 @Service
 public class CVLlmDataExtractor {
 
-    private final WebClient webClient;
+    /**
+     * Bump whenever the prompts below or the local extraction rules change so cached extractions made the old
+     * way are not reused.
+     */
+    static final String PROMPT_VERSION = "v2";
+
+    private static final String SCHEMA = """
+            {
+              "email": "",
+              "phone": "",
+              "firstName": "",
+              "lastName": "",
+              "address": "",
+              "education": [{"level": "", "institution": "", "period": ""}],
+              "experience": [{"title": "", "company": "", "period": ""}],
+              "skills": [{"name": ""}],
+              "languages": [{"language": "", "level": ""}]
+            }
+            """;
+
+    private static final String PROMPT = """
+            You are an information extraction assistant.
+            TASK:
+            - Extract candidate's data from the given CV text.
+            - If a field is missing or cannot be identified, set its value to "N/A".
+            - Keep the extracted data in the same language as the CV text.
+            - Return strictly in this JSON format, with no explanations or text outside the JSON:
+            
+            """ + SCHEMA + """
+            
+            CV text:
+            """;
+
+    private static final String CHUNK_PROMPT = """
+            You are an information extraction assistant.
+            TASK:
+            - The text below is one part of a longer CV. Extract the candidate's data found in this part only.
+            - If a field does not appear in this part, set its value to "N/A"; leave lists empty when they have no entries here.
+            - Keep the extracted data in the same language as the CV text.
+            - Return strictly in this JSON format, with no explanations or text outside the JSON:
+            
+            """ + SCHEMA + """
+            
+            CV text:
+            """;
+
+    private final LlmClient llmClient;
     private final ObjectMapper objectMapper;
-    private final String model;
+    private final CVExtractionCache extractionCache;
+    private final CVSectionChunker chunker;
+    private final int singleCallMaxTokens;
+    private final Integer maxOutputTokens;
+    private final int chunkParallelism;
+    private final boolean localExtractionEnabled;
+    private final boolean streaming;
+    private final double confidenceThreshold;
+
+    private final DistributionSummary singleInputTokens;
+    private final DistributionSummary chunkedInputTokens;
+    private final DistributionSummary chunksPerCv;
+    private final Counter droppedTokens;
+    private final Map<CVDataExtractor.Field, DistributionSummary> fieldConfidence = new EnumMap<>(CVDataExtractor.Field.class);
+    private final Counter llmSkipped;
+    private final Counter llmPartial;
+    private final Counter llmFull;
+    private final Timer firstFieldTimer;
+    private final Counter invalidFields;
+    private final Counter completeResponses;
+    private final Counter recoveredResponses;
+    private final Counter partialResponses;
 
-    public CVLlmDataExtractor(WebClient openaiWebClient,
+    public CVLlmDataExtractor(LlmClient llmClient,
                               ObjectMapper objectMapper,
-                              @Value("${openai.api.model}") String model) {
-        this.webClient = openaiWebClient;
+                              CVExtractionCache extractionCache,
+                              MeterRegistry meterRegistry,
+                              @Value("${llm.extraction.single-call-max-tokens:6000}") int singleCallMaxTokens,
+                              @Value("${llm.extraction.chunk-max-tokens:3000}") int chunkMaxTokens,
+                              @Value("${llm.extraction.max-input-tokens:15000}") int maxInputTokens,
+                              @Value("${llm.extraction.max-chunks:6}") int maxChunks,
+                              @Value("${llm.extraction.chunk-parallelism:3}") int chunkParallelism,
+                              @Value("${llm.extraction.max-output-tokens:4000}") int maxOutputTokens,
+                              @Value("${llm.extraction.streaming:true}") boolean streaming,
+                              @Value("${cv.local-extraction.enabled:true}") boolean localExtractionEnabled,
+                              @Value("${cv.local-extraction.confidence-threshold:0.8}") double confidenceThreshold) {
+        this.llmClient = llmClient;
         this.objectMapper = objectMapper;
-        this.model = model;
+        this.extractionCache = extractionCache;
+        this.chunker = new CVSectionChunker(chunkMaxTokens, maxInputTokens, maxChunks);
+        this.singleCallMaxTokens = singleCallMaxTokens;
+        this.maxOutputTokens = maxOutputTokens > 0 ? maxOutputTokens : null;
+        this.chunkParallelism = Math.max(1, chunkParallelism);
+        this.localExtractionEnabled = localExtractionEnabled;
+        this.streaming = streaming;
+        this.confidenceThreshold = confidenceThreshold;
 
-        log.info("CVLlmDataExtractor initialized with model={}", model);
+        this.singleInputTokens = DistributionSummary.builder("llm.extraction.input.tokens").tag("mode", "single")
+                .description("Estimated CV tokens sent to the LLM per extraction").register(meterRegistry);
+        this.chunkedInputTokens = DistributionSummary.builder("llm.extraction.input.tokens").tag("mode", "chunked")
+                .description("Estimated CV tokens sent to the LLM per extraction").register(meterRegistry);
+        this.chunksPerCv = DistributionSummary.builder("llm.extraction.chunks").register(meterRegistry);
+        this.droppedTokens = Counter.builder("llm.extraction.dropped.tokens")
+                .description("Estimated CV tokens left out to stay within the extraction budget").register(meterRegistry);
+        for (CVDataExtractor.Field field : CVDataExtractor.Field.values()) {
+            fieldConfidence.put(field, DistributionSummary.builder("cv.local_extraction.confidence")
+                    .tag("field", field.name().toLowerCase())
+                    .description("Confidence of the rule-based extraction per field (0-1)")
+                    .register(meterRegistry));
+        }
+        // skip rate = llm="skipped" / all three
+        this.llmSkipped = Counter.builder("cv.local_extraction.llm").tag("llm", "skipped").register(meterRegistry);
+        this.llmPartial = Counter.builder("cv.local_extraction.llm").tag("llm", "partial").register(meterRegistry);
+        this.llmFull = Counter.builder("cv.local_extraction.llm").tag("llm", "full").register(meterRegistry);
+        this.firstFieldTimer = Timer.builder("llm.extraction.first_field")
+                .description("Time from a streamed LLM call to its first validated profile field").register(meterRegistry);
+        this.invalidFields = Counter.builder("llm.extraction.invalid_fields")
+                .description("LLM fields and list entries dropped for not matching the profile schema").register(meterRegistry);
+        // complete: well-formed JSON; recovered: dug out of surrounding text; partial: cut off, completed fields kept
+        this.completeResponses = Counter.builder("llm.extraction.responses").tag("result", "complete").register(meterRegistry);
+        this.recoveredResponses = Counter.builder("llm.extraction.responses").tag("result", "recovered").register(meterRegistry);
+        this.partialResponses = Counter.builder("llm.extraction.responses").tag("result", "partial").register(meterRegistry);
+
+        log.info("CVLlmDataExtractor initialized with model={} | singleCallMaxTokens={} | chunkMaxTokens={} | maxInputTokens={} | maxChunks={} | streaming={} | localExtraction={} | confidenceThreshold={}",
+                llmClient.getModel(), singleCallMaxTokens, chunkMaxTokens, maxInputTokens, maxChunks, streaming,
+                localExtractionEnabled, confidenceThreshold);
     }
 
+    /**
+     * Blocking form for the ingestion and bulk import workers.
+     */
     public CandidateProfileDTO extractCandidateProfile(String rawText) {
-        log.info("Sending CV text to LLM | textLength={} chars", rawText.length());
-
-        String prompt = """
-                You are an information extraction assistant.
-                TASK:
-                - Extract candidate's data from the given CV text.
-                - If a field is missing or cannot be identified, set its value to "N/A".
-                - Keep the extracted data in the same language as the CV text.
-                - Return strictly in this JSON format, with no explanations or text outside the JSON:
-                
-                {
-                  "email": "",
-                  "phone": "",
-                  "firstName": "",
-                  "lastName": "",
-                  "address": "",
-                  "education": [{"level": "", "institution": "", "period": ""}],
-                  "experience": [{"title": "", "company": "", "period": ""}],
-                  "skills": [{"name": ""}],
-                  "languages": [{"language": "", "level": ""}]
-                }
-                
-                CV text:
-                """ + rawText;
+        try {
+            return extractCandidateProfileAsync(rawText).block();
+        } catch (Exception e) {
+            log.error("Error extracting candidate profile via LLM: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to extract candidate profile from LLM", e);
+        }
+    }
+
+    /**
+     * The rule-based pass runs on the calling thread; it is a few precompiled regexes over the text.
+     */
+    public Mono<CandidateProfileDTO> extractCandidateProfileAsync(String rawText) {
+        CVDataExtractor.LocalExtraction local = localExtractionEnabled ? localExtraction(rawText) : null;
+        if (local != null && local.coversCore(confidenceThreshold)) {
+            llmSkipped.increment();
+            CandidateProfileDTO dto = local.confidentProfile(confidenceThreshold);
+            log.info("Extraction completed locally, LLM skipped for candidate: {} {}", dto.getFirstName(), dto.getLastName());
+            return Mono.just(dto);
+        }
 
-        LlmChatCompletionReqDTO request = new LlmChatCompletionReqDTO();
-        request.setModel(model);
-        request.setMessages(Collections.singletonList(new LlmChatCompletionReqDTO.ChatMessage(prompt)));
-        request.setTemperature(0.0);
+        String model = llmClient.getModel();
+        String cacheKey = extractionCache.key(rawText, model, PROMPT_VERSION);
 
-        try {
-            log.debug("Request payload to LLM: {}", objectMapper.writeValueAsString(request));
-
-            LlmChatCompletionRespDTO response = webClient.post()
-                    .uri("/chat/completions")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(LlmChatCompletionRespDTO.class)
-                    .block();
-
-            if (response == null || response.getChoices() == null || response.getChoices().isEmpty()) {
-                log.error("LLM returned null or empty response");
-                throw new RuntimeException("Empty response from LLM");
+        // the cache reads and writes the database, so it stays off the Netty event loop
+        return Mono.fromCallable(() -> readCached(cacheKey))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> cached.map(Mono::just).orElseGet(Mono::empty))
+                .switchIfEmpty(Mono.defer(() -> extractWithLlm(rawText, local, model, cacheKey)));
+    }
+
+    private CVDataExtractor.LocalExtraction localExtraction(String rawText) {
+        CVDataExtractor.LocalExtraction local = CVDataExtractor.extract(rawText);
+        local.confidence().forEach((field, confidence) -> fieldConfidence.get(field).record(confidence));
+        log.info("Local extraction | confidence={}", local.confidence());
+        return local;
+    }
+
+    private Optional<CandidateProfileDTO> readCached(String cacheKey) {
+        Optional<String> cached = extractionCache.get(cacheKey);
+        if (cached.isPresent()) {
+            try {
+                CandidateProfileDTO dto = objectMapper.readValue(cached.get(), CandidateProfileDTO.class);
+                log.info("LLM extraction served from cache | key={}", cacheKey);
+                return Optional.of(dto);
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable cached extraction | key={} | reason={}", cacheKey, e.getMessage());
             }
+        }
+        return Optional.empty();
+    }
 
-            String content = response.getChoices().get(0).getMessage().getContent();
-            log.debug("Raw content from LLM: {}", content);
+    private Mono<CandidateProfileDTO> extractWithLlm(String rawText, CVDataExtractor.LocalExtraction local,
+                                                     String model, String cacheKey) {
+        String llmText = rawText;
+        if (local != null) {
+            llmText = local.remainingText(confidenceThreshold);
+            if (llmText.isBlank()) {
+                // every section was read locally; what is still missing is not in the CV
+                llmSkipped.increment();
+                return Mono.just(local.confidentProfile(confidenceThreshold));
+            }
+            if (llmText.length() < rawText.length()) {
+                llmPartial.increment();
+                log.info("Sending only the sections not covered locally | textLength={} chars | remainingLength={} chars",
+                        rawText.length(), llmText.length());
+            } else {
+                llmFull.increment();
+            }
+        }
 
-            CandidateProfileDTO dto = objectMapper.readValue(content, CandidateProfileDTO.class);
-            log.info("Extraction completed successfully for candidate: {} {}", dto.getFirstName(), dto.getLastName());
+        int tokens = CVSectionChunker.estimateTokens(llmText);
+        Mono<LlmProfile> extraction = tokens > singleCallMaxTokens
+                ? extractChunked(llmText, tokens)
+                : extractSingle(llmText, tokens);
 
+        return extraction.map(llmResult -> {
+            CandidateProfileDTO dto = local != null
+                    ? CandidateProfileMerger.merge(List.of(local.confidentProfile(confidenceThreshold), llmResult.profile()))
+                    : llmResult.profile();
+            if (!llmResult.complete()) {
+                // a cut-off response would be served for every later upload of this CV
+                log.warn("Extraction not cached, LLM response incomplete | key={}", cacheKey);
+            } else {
+                try {
+                    extractionCache.put(cacheKey, model, PROMPT_VERSION, objectMapper.writeValueAsString(dto));
+                } catch (JsonProcessingException e) {
+                    log.warn("Extraction not cached | key={} | reason={}", cacheKey, e.getMessage());
+                }
+            }
+            log.info("Extraction completed successfully for candidate: {} {}", dto.getFirstName(), dto.getLastName());
             return dto;
+        });
+    }
 
-        } catch (Exception e) {
-            log.error("Error extracting candidate profile via LLM: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to extract candidate profile from LLM", e);
+    private Mono<LlmProfile> extractSingle(String text, int tokens) {
+        log.info("Sending CV text to LLM | textLength={} chars | estimatedTokens={}", text.length(), tokens);
+        singleInputTokens.record(tokens);
+
+        return profile(PROMPT + text);
+    }
+
+    private Mono<LlmProfile> extractChunked(String text, int tokens) {
+        CVSectionChunker.ChunkPlan plan = chunker.chunk(text);
+        log.info("Sending CV text to LLM in chunks | textLength={} chars | estimatedTokens={} | chunks={} | sentTokens={} | droppedTokens={}",
+                text.length(), tokens, plan.chunks().size(), plan.inputTokens(), plan.droppedTokens());
+        if (plan.droppedTokens() > 0) {
+            log.warn("CV exceeds the extraction token budget, long sections cut | droppedTokens={}",
+                    plan.droppedTokens());
+            droppedTokens.increment(plan.droppedTokens());
+        }
+        chunkedInputTokens.record(plan.inputTokens());
+        chunksPerCv.record(plan.chunks().size());
+
+        // flatMapSequential keeps document order, so the header chunk's contact details win the merge
+        return Flux.fromIterable(plan.chunks())
+                .flatMapSequential(chunk -> profile(CHUNK_PROMPT + chunk), chunkParallelism)
+                .collectList()
+                .map(parts -> {
+                    log.info("Chunked extraction merged | chunks={}", parts.size());
+                    return new LlmProfile(CandidateProfileMerger.merge(parts.stream().map(LlmProfile::profile).toList()),
+                            parts.stream().allMatch(LlmProfile::complete));
+                });
+    }
+
+    /**
+     * One LLM call parsed into a profile. Streamed, the JSON is parsed as the deltas arrive; if the stream
+     * fails after some fields were complete those are kept instead of failing the CV (and repeating the call).
+     */
+    private Mono<LlmProfile> profile(String prompt) {
+        if (!streaming) {
+            return llmClient.complete(prompt, maxOutputTokens)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(content -> {
+                        log.debug("Raw content from LLM: {}", content);
+                        StreamingProfileParser parser = new StreamingProfileParser(objectMapper);
+                        parser.feed(content);
+                        return finish(parser);
+                    });
+        }
+
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            StreamingProfileParser parser = new StreamingProfileParser(objectMapper);
+            AtomicBoolean firstField = new AtomicBoolean();
+            return llmClient.stream(prompt, maxOutputTokens)
+                    .doOnNext(delta -> {
+                        parser.feed(delta);
+                        if (parser.completedFields() > 0 && firstField.compareAndSet(false, true)) {
+                            firstFieldTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+                        }
+                    })
+                    .then()
+                    .onErrorResume(e -> {
+                        if (parser.completedFields() == 0) {
+                            return Mono.error(e);
+                        }
+                        log.warn("LLM stream failed, keeping the fields received so far | fields={} | reason={}",
+                                parser.completedFields(), e.getMessage());
+                        return Mono.empty();
+                    })
+                    .publishOn(Schedulers.boundedElastic())
+                    .then(Mono.fromCallable(() -> finish(parser)));
+        });
+    }
+
+    private LlmProfile finish(StreamingProfileParser parser) {
+        CandidateProfileDTO dto = parser.finish();
+        if (parser.invalidFields() > 0) {
+            invalidFields.increment(parser.invalidFields());
         }
+        if (!parser.isComplete()) {
+            partialResponses.increment();
+        } else if (parser.isRecovered()) {
+            recoveredResponses.increment();
+        } else {
+            completeResponses.increment();
+        }
+        return new LlmProfile(dto, parser.isComplete());
+    }
+
+    /**
+     * A profile parsed from one or more LLM responses; {@code complete} is false when any of them was cut off
+     * and only its completed fields were kept.
+     */
+    private record LlmProfile(CandidateProfileDTO profile, boolean complete) {
     }
-}
\ No newline at end of file
+}
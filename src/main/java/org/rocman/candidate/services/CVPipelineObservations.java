@@ -0,0 +1,67 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stage timing for the CV pipeline, shared by single uploads and bulk imports. Each stage is a Micrometer
+ * observation: a {@code cv.pipeline.stage} timer tagged with stage, source and error, and a span when tracing
+ * is on. Work handed to the pipeline's worker pools goes through {@link #propagate(Runnable)} so that stages
+ * become children of the request that submitted them and log with its requestId.
+ */
+@Component
+public class CVPipelineObservations {
+
+    public static final String OBSERVATION = "cv.pipeline.stage";
+
+    public enum Stage {
+        PARSE, EXTRACT, STORE, PERSIST
+    }
+
+    public enum Source {
+        UPLOAD, BULK
+    }
+
+    private final ObservationRegistry observationRegistry;
+
+    public CVPipelineObservations(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    public <T, E extends Throwable> T observe(Stage stage, Source source, Observation.CheckedCallable<T, E> work) throws E {
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName("cv " + tag(stage))
+                .lowCardinalityKeyValue("stage", tag(stage))
+                .lowCardinalityKeyValue("source", tag(source));
+        String requestId = ThreadContext.get("requestId");
+        if (requestId != null) {
+            observation.highCardinalityKeyValue("requestId", requestId);
+        }
+        return observation.observeChecked(work);
+    }
+
+    /**
+     * Wraps {@code task} to run with the calling thread's logging context and current observation.
+     */
+    public Runnable propagate(Runnable task) {
+        Map<String, String> logContext = ThreadContext.getImmutableContext();
+        Observation parent = observationRegistry.getCurrentObservation();
+        return () -> {
+            ThreadContext.putAll(logContext);
+            try (Observation.Scope scope = parent != null ? parent.openScope() : null) {
+                task.run();
+            } finally {
+                ThreadContext.clearMap();
+            }
+        };
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
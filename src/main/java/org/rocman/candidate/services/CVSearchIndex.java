@@ -0,0 +1,312 @@
+package org.rocman.candidate.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ro.RomanianAnalyzer;
+import org.apache.lucene.analysis.ru.RussianAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.rocman.candidate.repositories.CandidateRepository;
+import org.rocman.candidate.repositories.CandidateSearchDocumentView;
+import org.rocman.candidate.utils.LanguageDetectionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Embedded Lucene index over the CV text. Each CV is indexed into the field of its detected language, so
+ * it gets that language's stemming and stop words; queries run against all language fields. Updates are
+ * applied from {@link CandidateProfileUpdatedEvent}s on a single indexing thread, become searchable on the
+ * next near-real-time refresh and are committed to disk periodically.
+ */
+@Log4j2
+@Service
+public class CVSearchIndex {
+
+    private static final String ID_FIELD = "id";
+    private static final String LANGUAGE_FIELD = "lang";
+    private static final Map<String, String> TEXT_FIELDS = Map.of(
+            LanguageDetectionUtil.ENGLISH, "text_en",
+            LanguageDetectionUtil.ROMANIAN, "text_ro",
+            LanguageDetectionUtil.FRENCH, "text_fr",
+            LanguageDetectionUtil.RUSSIAN, "text_ru");
+    // diacritic-free copy of every CV, so "aplicatii" finds "aplicații" and "experience" finds "expérience"
+    private static final String FOLDED_FIELD = "text_folded";
+    private static final String[] HIGHLIGHT_FIELDS = TEXT_FIELDS.values().stream().sorted().toArray(String[]::new);
+    private static final String[] SEARCH_FIELDS = Stream.concat(Arrays.stream(HIGHLIGHT_FIELDS), Stream.of(FOLDED_FIELD))
+            .toArray(String[]::new);
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private static final FieldType TEXT_WITH_OFFSETS = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        // offsets in the postings let the highlighter skip re-analyzing the stored text
+        TEXT_WITH_OFFSETS.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT_WITH_OFFSETS.freeze();
+    }
+
+    private final CandidateRepository candidateRepository;
+    private final int maxResultWindow;
+    private final int highlightMaxLength;
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ExecutorService indexer;
+    private final ScheduledExecutorService maintenance;
+
+    public CVSearchIndex(CandidateRepository candidateRepository,
+                         @Value("${search.index.dir:data/search-index}") String indexDir,
+                         @Value("${search.index.refresh-ms:1000}") long refreshMs,
+                         @Value("${search.index.commit-interval-seconds:30}") long commitIntervalSeconds,
+                         @Value("${search.max-result-window:1000}") int maxResultWindow,
+                         @Value("${search.highlight.max-length:100000}") int highlightMaxLength) throws IOException {
+        this.candidateRepository = candidateRepository;
+        this.maxResultWindow = maxResultWindow;
+        this.highlightMaxLength = highlightMaxLength;
+
+        Path root = Paths.get(indexDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        this.directory = FSDirectory.open(root);
+        this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), Map.of(
+                "text_en", new EnglishAnalyzer(),
+                "text_ro", new RomanianAnalyzer(),
+                "text_fr", new FrenchAnalyzer(),
+                "text_ru", new RussianAnalyzer(),
+                FOLDED_FIELD, new FoldingAnalyzer()));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "cv-search-indexer"));
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "cv-search-refresh"));
+        maintenance.scheduleWithFixedDelay(this::refresh, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        maintenance.scheduleWithFixedDelay(this::commit, commitIntervalSeconds, commitIntervalSeconds, TimeUnit.SECONDS);
+
+        log.info("CVSearchIndex initialized | dir={} | docs={}", root, writer.getDocStats().numDocs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0) {
+            indexer.execute(this::rebuild);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProfileUpdated(CandidateProfileUpdatedEvent event) {
+        indexer.execute(() -> reindex(event.candidateId()));
+    }
+
+    /**
+     * Re-reads every CV from the database into the index.
+     */
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        int indexed = 0;
+        try {
+            long after = 0;
+            List<CandidateSearchDocumentView> page;
+            do {
+                page = candidateRepository.findSearchDocumentsAfter(after, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (CandidateSearchDocumentView candidate : page) {
+                    update(candidate.getId(), candidate.getCvText());
+                    after = candidate.getId();
+                }
+                indexed += page.size();
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            writer.commit();
+            searcherManager.maybeRefresh();
+            log.info("CV search index built | docs={} | elapsedMs={}", indexed, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            log.error("CV search index build failed | indexed={} | reason={}", indexed, e.getMessage(), e);
+        }
+    }
+
+    private void reindex(Long candidateId) {
+        try {
+            String cvText = candidateRepository.findSearchDocumentById(candidateId)
+                    .map(CandidateSearchDocumentView::getCvText)
+                    .orElse(null);
+            update(candidateId, cvText);
+        } catch (Exception e) {
+            log.error("CV search index update failed | candidateId={} | reason={}", candidateId, e.getMessage(), e);
+        }
+    }
+
+    private void update(Long candidateId, String cvText) throws IOException {
+        Term id = new Term(ID_FIELD, String.valueOf(candidateId));
+        if (cvText == null || cvText.isBlank()) {
+            writer.deleteDocuments(id);
+            return;
+        }
+
+        String language = LanguageDetectionUtil.detect(cvText);
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, id.text(), Field.Store.YES));
+        document.add(new StringField(LANGUAGE_FIELD, language, Field.Store.YES));
+        document.add(new Field(TEXT_FIELDS.get(language), cvText, TEXT_WITH_OFFSETS));
+        document.add(new TextField(FOLDED_FIELD, cvText, Field.Store.NO));
+        writer.updateDocument(id, document);
+    }
+
+    /**
+     * Runs a keyword query (classic Lucene syntax; terms are ANDed by default) and returns the requested page
+     * with one highlighted snippet per hit.
+     */
+    public SearchPage search(String queryText, int page, int size) throws IOException {
+        int window = (page + 1) * size;
+        if (window > maxResultWindow) {
+            throw new IllegalArgumentException("Results are limited to the first " + maxResultWindow + " hits");
+        }
+        Query query = parse(queryText);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, window);
+            ScoreDoc[] pageDocs = top.scoreDocs.length > page * size
+                    ? Arrays.copyOfRange(top.scoreDocs, page * size, top.scoreDocs.length)
+                    : new ScoreDoc[0];
+            if (pageDocs.length == 0) {
+                return new SearchPage(top.totalHits.value, List.of());
+            }
+
+            UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withMaxLength(highlightMaxLength)
+                    .build();
+            int[] maxPassages = new int[HIGHLIGHT_FIELDS.length];
+            Arrays.fill(maxPassages, 2);
+            Map<String, String[]> snippets = highlighter.highlightFields(HIGHLIGHT_FIELDS, query,
+                    new TopDocs(top.totalHits, pageDocs), maxPassages);
+
+            List<Hit> hits = new ArrayList<>(pageDocs.length);
+            for (int i = 0; i < pageDocs.length; i++) {
+                Document document = searcher.storedFields().document(pageDocs[i].doc, Set.of(ID_FIELD, LANGUAGE_FIELD));
+                String snippet = snippets.get(TEXT_FIELDS.get(document.get(LANGUAGE_FIELD)))[i];
+                hits.add(new Hit(Long.parseLong(document.get(ID_FIELD)), pageDocs[i].score, snippet));
+            }
+            return new SearchPage(top.totalHits.value, hits);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(SEARCH_FIELDS, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            // treat input that is not valid query syntax as plain keywords
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Invalid search query");
+            }
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (Exception e) {
+            log.warn("CV search index refresh failed | reason={}", e.getMessage());
+        }
+    }
+
+    private void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (Exception e) {
+            log.warn("CV search index commit failed | reason={}", e.getMessage());
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+        maintenance.shutdownNow();
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Standard tokenization, lower-casing and ASCII folding, without stemming.
+     */
+    private static class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+
+    public record Hit(long candidateId, float score, String highlight) {
+    }
+
+    public record SearchPage(long total, List<Hit> hits) {
+    }
+}
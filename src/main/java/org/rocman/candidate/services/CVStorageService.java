@@ -0,0 +1,86 @@
+package org.rocman.candidate.services;
+
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.utils.SpooledCV;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed CV storage on local disk. Each binary is written once under
+ * {@code <dir>/<first two hex chars>/<sha256>}, so identical uploads share one file and
+ * the candidates table only keeps the hash and metadata.
+ */
+@Log4j2
+@Service
+public class CVStorageService {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public CVStorageService(@Value("${cv.storage.dir:data/cv-store}") String storageDir) throws IOException {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        log.info("CVStorageService initialized | root={}", root);
+    }
+
+    public StoredCV store(SpooledCV cv) throws IOException {
+        Path target = resolve(cv.getSha256());
+
+        if (Files.exists(target)) {
+            log.debug("CV binary already stored | sha256={}", cv.getSha256());
+        } else {
+            Files.createDirectories(target.getParent());
+            Path partial = Files.createTempFile(target.getParent(), cv.getSha256(), ".partial");
+            try {
+                Files.copy(cv.getPath(), partial, StandardCopyOption.REPLACE_EXISTING);
+                moveIntoPlace(partial, target);
+                log.info("CV binary stored | sha256={} | size={}", cv.getSha256(), cv.getSize());
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        }
+
+        return new StoredCV(cv.getSha256(), cv.getSize(), cv.getMimeType(), cv.getOriginalFilename());
+    }
+
+    public InputStream openStream(String sha256) throws IOException {
+        return Files.newInputStream(resolve(sha256));
+    }
+
+    public Resource load(String sha256) {
+        return new FileSystemResource(resolve(sha256));
+    }
+
+    private void moveIntoPlace(Path partial, Path target) throws IOException {
+        try {
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // a concurrent upload of the same content got there first
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path resolve(String sha256) {
+        if (sha256 == null || !SHA256_HEX.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Invalid CV reference");
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    public record StoredCV(String sha256, long size, String mimeType, String fileName) {
+    }
+}
@@ -3,39 +3,84 @@ package org.rocman.candidate.services;
 
 import lombok.extern.slf4j.Slf4j;
 import org.rocman.candidate.repositories.CandidateRepository;
+import org.rocman.candidate.security.CandidatePrincipal;
+import org.rocman.candidate.security.CandidatePrincipalCache;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
-public class CandidateDetailsService implements UserDetailsService {
+public class CandidateDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final CandidateRepository candidateRepository;
+    private final CandidatePrincipalCache principalCache;
+    private final Set<String> recruiterEmails;
 
-    public CandidateDetailsService(CandidateRepository candidateRepository) {
+    public CandidateDetailsService(CandidateRepository candidateRepository,
+                                   CandidatePrincipalCache principalCache,
+                                   @Value("${auth.recruiter-emails:}") List<String> recruiterEmails) {
         this.candidateRepository = candidateRepository;
+        this.principalCache = principalCache;
+        this.recruiterEmails = recruiterEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        String reqId = MDC.get("requestId");
+        return principalCache.get(username, this::loadPrincipal)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash was made with a
+     * different BCrypt cost; stores the new hash. A failure here must not fail the login.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        try {
+            candidateRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        } catch (RuntimeException e) {
+            log.warn("Password rehash failed | email={} | reason={}", user.getUsername(), e.getMessage());
+            return user;
+        }
+        principalCache.evict(user.getUsername());
+        log.info("Password rehashed with current cost | email={}", user.getUsername());
+        if (user instanceof CandidatePrincipal principal) {
+            return new CandidatePrincipal(principal.getId(), principal.getEmail(), newPassword,
+                    principal.isEmailVerified(), principal.isRecruiter());
+        }
+        return user;
+    }
+
+    private Optional<CandidatePrincipal> loadPrincipal(String username) {
         MDC.put("userEmail", username);
         log.info("Attempting to authenticate user ");
-        return candidateRepository.findByEmail(username)
-                .map(user -> {
-                    MDC.put("userId", String.valueOf(user.getId()));
-                    log.info("User authenticated successfully");
-                    MDC.clear();
-                    return user;
-                })
-                .orElseThrow(() -> {
-                    log.warn("Authentication failed: user not found ");
-                    MDC.clear();
-                    return new UsernameNotFoundException("User not found");
-                });
+        Optional<CandidatePrincipal> principal = candidateRepository.findAuthViewByEmail(username)
+                .map(view -> CandidatePrincipal.from(view, isRecruiter(view.getEmail())));
+        if (principal.isPresent()) {
+            MDC.put("userId", String.valueOf(principal.get().getId()));
+            log.info("User authenticated successfully");
+        } else {
+            log.warn("Authentication failed: user not found ");
+        }
+        MDC.clear();
+        return principal;
     }
-}
 
+    private boolean isRecruiter(String email) {
+        return email != null && recruiterEmails.contains(email.toLowerCase(Locale.ROOT));
+    }
+}
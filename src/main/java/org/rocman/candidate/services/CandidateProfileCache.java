@@ -0,0 +1,134 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Mapped profiles ({@link CandidateProfileDTO}) per candidate id, in front of the Hibernate second-level cache.
+ * An LRU bounded by size and TTL; entries are evicted after commit of every transaction that publishes a
+ * {@link CandidateProfileUpdatedEvent} for the candidate. A profile loaded while an eviction happened is
+ * returned but not cached, since it may predate the change. Inside a read-write transaction the cache is
+ * bypassed, so a service reading back what it just changed sees its own writes.
+ * <p>
+ * Cached profiles are shared between callers and must not be modified.
+ */
+@Log4j2
+@Service
+public class CandidateProfileCache {
+
+    private final Map<Long, CachedProfile> entries;
+    // guards the access-ordered map, whose get() reorders entries, and the eviction count; never held while loading
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private long evictions;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CandidateProfileCache(PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${candidate.profile-cache.ttl-seconds:300}") long ttlSeconds,
+                                 @Value("${candidate.profile-cache.max-entries:10000}") int maxEntries) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+                return size() > CandidateProfileCache.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("candidate.profile.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("candidate.profile.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("candidate.profile.cache.size", this, CandidateProfileCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The cached profile, or the one {@code loader} returns, run in a read-only transaction (or in the caller's
+     * read-write transaction, which bypasses the cache).
+     */
+    public CandidateProfileDTO get(Long candidateId, Function<Long, CandidateProfileDTO> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.apply(candidateId);
+        }
+
+        long now = System.nanoTime();
+        long evictionsBefore;
+        lock.lock();
+        try {
+            CachedProfile cached = entries.get(candidateId);
+            if (cached != null) {
+                if (cached.expiresAt() - now > 0) {
+                    hits.increment();
+                    return cached.profile();
+                }
+                entries.remove(candidateId);
+            }
+            evictionsBefore = evictions;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        CandidateProfileDTO loaded = readOnlyTransaction.execute(status -> loader.apply(candidateId));
+
+        lock.lock();
+        try {
+            if (evictions == evictionsBefore) {
+                entries.put(candidateId, new CachedProfile(loaded, now + ttlNanos));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onProfileUpdated(CandidateProfileUpdatedEvent event) {
+        evict(event.candidateId());
+    }
+
+    public void evict(Long candidateId) {
+        lock.lock();
+        try {
+            evictions++;
+            if (entries.remove(candidateId) != null) {
+                log.debug("Profile evicted from cache | candidateId={}", candidateId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CachedProfile(CandidateProfileDTO profile, long expiresAt) {
+    }
+}
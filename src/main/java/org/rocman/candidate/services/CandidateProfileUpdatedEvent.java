@@ -0,0 +1,8 @@
+package org.rocman.candidate.services;
+
+/**
+ * Published inside the transaction that changed a candidate's profile; listeners that maintain derived
+ * data (search indexes, caches) handle it after commit.
+ */
+public record CandidateProfileUpdatedEvent(Long candidateId) {
+}
@@ -0,0 +1,289 @@
+package org.rocman.candidate.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.CandidatePageDTO;
+import org.rocman.candidate.dtos.CandidateSearchResultDTO;
+import org.rocman.candidate.repositories.CandidateRepository;
+import org.rocman.candidate.repositories.CandidateSummaryView;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Candidate search. Skill queries are answered from the {@link SkillSearchIndex} bitmaps and keyword
+ * queries from the {@link CVSearchIndex}; only the requested page of candidates is read from the database.
+ * The filtered listing and export read {@link CandidateSummaryView} rows in id order, paged by the last id
+ * seen instead of an offset.
+ */
+@Log4j2
+@Service
+public class CandidateSearchService {
+
+    private static final long UNKNOWN_SKILL_ID = -1L;
+
+    private final SkillSearchIndex skillSearchIndex;
+    private final SkillDictionaryService skillDictionaryService;
+    private final CVSearchIndex cvSearchIndex;
+    private final CandidateRepository candidateRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    /**
+     * Listing and export filters; null or blank values match every candidate.
+     */
+    public record CandidateFilter(Boolean enabled, String skill, String language, String languageLevel) {
+    }
+
+    public enum ExportFormat {
+        CSV, NDJSON;
+
+        public static ExportFormat parse(String format) {
+            return switch (format == null ? "CSV" : format.toUpperCase(Locale.ROOT)) {
+                case "CSV" -> CSV;
+                case "NDJSON" -> NDJSON;
+                default -> throw new IllegalArgumentException("Invalid format: " + format + ". Use csv or ndjson.");
+            };
+        }
+    }
+
+    public CandidateSearchService(SkillSearchIndex skillSearchIndex,
+                                  SkillDictionaryService skillDictionaryService,
+                                  CVSearchIndex cvSearchIndex,
+                                  CandidateRepository candidateRepository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${search.max-page-size:100}") int maxPageSize) {
+        this.skillSearchIndex = skillSearchIndex;
+        this.skillDictionaryService = skillDictionaryService;
+        this.cvSearchIndex = cvSearchIndex;
+        this.candidateRepository = candidateRepository;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public CandidateSearchResultDTO searchBySkills(List<String> skills, String mode, int page, int size) {
+        boolean matchAll = parseMode(mode);
+        if (skills == null || skills.stream().allMatch(s -> s == null || s.isBlank())) {
+            throw new IllegalArgumentException("At least one skill is required");
+        }
+        validatePage(page, size);
+        if (!skillSearchIndex.isReady()) {
+            throw new IllegalStateException("Skill index is still loading");
+        }
+
+        long startedAt = System.nanoTime();
+        List<Long> skillIds = new ArrayList<>();
+        for (String skill : skills) {
+            Optional<Long> id = skillDictionaryService.lookup(skill);
+            if (id.isPresent()) {
+                skillIds.add(id.get());
+            } else if (matchAll && SkillDictionaryService.normalize(skill) != null) {
+                // an unknown skill can never be matched
+                skillIds.clear();
+                break;
+            }
+        }
+
+        RoaringBitmap matches = skillIds.isEmpty() ? new RoaringBitmap() : skillSearchIndex.search(skillIds, matchAll);
+        List<Long> pageIds = pageOf(matches, page, size);
+
+        CandidateSearchResultDTO result = new CandidateSearchResultDTO();
+        result.setTotal(matches.getLongCardinality());
+        result.setPage(page);
+        result.setSize(size);
+        result.setCandidates(pageIds.isEmpty() ? List.of() : candidateRepository.findSummaryByIdInOrderByIdAsc(pageIds)
+                .stream()
+                .map(CandidateSearchService::toSummary)
+                .toList());
+
+        log.debug("Skill search | skills={} | mode={} | total={} | elapsedMs={}",
+                skills, matchAll ? "AND" : "OR", result.getTotal(), (System.nanoTime() - startedAt) / 1_000_000);
+        return result;
+    }
+
+    public CandidateSearchResultDTO searchFullText(String query, int page, int size) throws IOException {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        validatePage(page, size);
+
+        long startedAt = System.nanoTime();
+        CVSearchIndex.SearchPage hits = cvSearchIndex.search(query, page, size);
+
+        Map<Long, CandidateSummaryView> summaries = new HashMap<>();
+        if (!hits.hits().isEmpty()) {
+            candidateRepository.findSummaryByIdInOrderByIdAsc(hits.hits().stream().map(CVSearchIndex.Hit::candidateId).toList())
+                    .forEach(view -> summaries.put(view.getId(), view));
+        }
+
+        List<CandidateSearchResultDTO.CandidateSummaryDTO> candidates = new ArrayList<>(hits.hits().size());
+        for (CVSearchIndex.Hit hit : hits.hits()) {
+            CandidateSummaryView view = summaries.get(hit.candidateId());
+            if (view == null) {
+                // deleted after the last index refresh
+                continue;
+            }
+            CandidateSearchResultDTO.CandidateSummaryDTO dto = toSummary(view);
+            dto.setScore(hit.score());
+            dto.setHighlight(hit.highlight());
+            candidates.add(dto);
+        }
+
+        CandidateSearchResultDTO result = new CandidateSearchResultDTO();
+        result.setTotal(hits.total());
+        result.setPage(page);
+        result.setSize(size);
+        result.setCandidates(candidates);
+
+        log.debug("Full-text search | total={} | elapsedMs={}", result.getTotal(), (System.nanoTime() - startedAt) / 1_000_000);
+        return result;
+    }
+
+    public CandidatePageDTO listCandidates(CandidateFilter filter, Long after, int size) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("After must not be negative");
+        }
+        validatePage(0, size);
+
+        // one row past the page tells whether there is a next one
+        List<CandidateSummaryView> rows = candidateRepository.findSummariesAfter(after != null ? after : 0,
+                filter.enabled(), skillId(filter), lowerCase(filter.language()), lowerCase(filter.languageLevel()),
+                PageRequest.ofSize(size + 1));
+        List<CandidateSummaryView> page = rows.size() > size ? rows.subList(0, size) : rows;
+
+        CandidatePageDTO result = new CandidatePageDTO();
+        result.setSize(size);
+        result.setCandidates(page.stream().map(CandidateSearchService::toSummary).toList());
+        if (rows.size() > size) {
+            result.setNextAfter(page.get(size - 1).getId());
+        }
+        return result;
+    }
+
+    /**
+     * Writes every candidate matching {@code filter} to {@code out}, in id order, as CSV with a header line or
+     * as one JSON object per line. Rows are streamed from a database cursor, so memory use does not depend on
+     * the number of candidates. Returns the number of candidates written.
+     */
+    @Transactional(readOnly = true)
+    public long exportCandidates(CandidateFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write("id,firstName,lastName,email,enabled\r\n");
+        }
+
+        try (Stream<CandidateSummaryView> rows = candidateRepository.streamSummaries(filter.enabled(),
+                skillId(filter), lowerCase(filter.language()), lowerCase(filter.languageLevel()))) {
+            Iterator<CandidateSummaryView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                CandidateSummaryView view = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writer.write(view.getId() + "," + csv(view.getFirstName()) + "," + csv(view.getLastName())
+                            + "," + csv(view.getEmail()) + "," + view.isEnabled() + "\r\n");
+                } else {
+                    writer.write(objectMapper.writeValueAsString(toSummary(view)));
+                    writer.write('\n');
+                }
+                count++;
+            }
+        }
+        writer.flush();
+
+        log.info("Candidate export finished | format={} | candidates={} | elapsedMs={}",
+                format, count, (System.nanoTime() - startedAt) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * The skill definition id to filter on, null for no skill filter; a skill missing from the dictionary
+     * resolves to an id no candidate has.
+     */
+    private Long skillId(CandidateFilter filter) {
+        if (filter.skill() == null || filter.skill().isBlank()) {
+            return null;
+        }
+        return skillDictionaryService.lookup(filter.skill()).orElse(UNKNOWN_SKILL_ID);
+    }
+
+    private static String lowerCase(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * RFC 4180 quoting; values a spreadsheet would evaluate as a formula (starting with = + - @, tab or carriage
+     * return, per the OWASP CSV injection guidance) are prefixed with a quote.
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static CandidateSearchResultDTO.CandidateSummaryDTO toSummary(CandidateSummaryView view) {
+        CandidateSearchResultDTO.CandidateSummaryDTO dto = new CandidateSearchResultDTO.CandidateSummaryDTO();
+        dto.setId(view.getId());
+        dto.setFirstName(view.getFirstName());
+        dto.setLastName(view.getLastName());
+        dto.setEmail(view.getEmail());
+        dto.setEnabled(view.isEnabled());
+        return dto;
+    }
+
+    private static boolean parseMode(String mode) {
+        return switch (mode == null ? "AND" : mode.toUpperCase(Locale.ROOT)) {
+            case "AND" -> true;
+            case "OR" -> false;
+            default -> throw new IllegalArgumentException("Invalid mode: " + mode + ". Use AND or OR.");
+        };
+    }
+
+    private void validatePage(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Size must be between 1 and " + maxPageSize);
+        }
+    }
+
+    private static List<Long> pageOf(RoaringBitmap matches, int page, int size) {
+        long offset = (long) page * size;
+        if (offset >= matches.getLongCardinality()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(size);
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) offset));
+        while (iterator.hasNext() && ids.size() < size) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
+    }
+}
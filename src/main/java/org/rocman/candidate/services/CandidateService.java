@@ -4,25 +4,27 @@ import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber;
 import jakarta.persistence.EntityNotFoundException;
-import org.apache.tika.Tika;
 import org.rocman.candidate.dtos.CandidateProfileDTO;
 import org.rocman.candidate.dtos.CandidateRegistrationDTO;
 import org.rocman.candidate.entities.*;
 import org.rocman.candidate.mapper.CandidateMapper;
 import org.rocman.candidate.repositories.*;
+import org.rocman.candidate.security.CandidatePrincipalCache;
 
-import org.rocman.candidate.utils.CVParserUtil;
+import org.rocman.candidate.utils.SpooledCV;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 import lombok.extern.log4j.Log4j2;
 
@@ -35,8 +37,6 @@ public class CandidateService {
     private final VerificationTokenRepository verificationTokenRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
-    private static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
-    private static final Tika tika = new Tika();
     private static final Set<String> ALLOWED_MIME_TYPES = Set.of(
             "application/pdf",
             "application/msword", // .doc
@@ -45,17 +45,28 @@ public class CandidateService {
             "application/rtf",
             "text/plain"
     );
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    // Not a BCrypt hash, so no password ever matches it.
+    private static final String IMPORTED_ACCOUNT_PASSWORD = "!imported";
     private final EducationRepository educationRepository;
     private final ExperienceRepository experienceRepository;
     private final SkillRepository skillRepository;
     private final LanguageRepository languageRepository;
     private final CandidateMapper candidateMapper;
-    private final CVLlmDataExtractor cvLlmDataExtractor;
-
-    public Candidate registerCandidate(CandidateRegistrationDTO dto) {
+    private final CandidatePrincipalCache principalCache;
+    private final SkillDictionaryService skillDictionaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CandidateProfileCache profileCache;
+
+    /**
+     * Validates a registration and hashes its password, outside any transaction: the hash may wait for the
+     * bounded hashing pool, and must not hold a pooled connection meanwhile. The result is saved by
+     * {@link #saveRegisteredCandidate}.
+     */
+    public Candidate buildRegisteredCandidate(CandidateRegistrationDTO dto) {
         if (candidateRepository.findByEmail(dto.getEmail()).isPresent()) {
-            log.warn("Registration validation failed | reason=Email already registered | email={} | timestamp={}",
-                    dto.getEmail(), LocalDateTime.now());
+            log.warn("Registration validation failed | reason=Email already registered | email={}",
+                    dto.getEmail());
             throw new IllegalArgumentException("Email already registered");
         }
 
@@ -64,8 +75,8 @@ public class CandidateService {
             Phonenumber.PhoneNumber parsed = PhoneNumberUtil.getInstance().parse(fullNumber, null);
 
             if (!PhoneNumberUtil.getInstance().isValidNumber(parsed)) {
-                log.warn("Registration validation failed | reason=Invalid phone number | email={} | timestamp={}",
-                        dto.getEmail(), LocalDateTime.now());
+                log.warn("Registration validation failed | reason=Invalid phone number | email={}",
+                        dto.getEmail());
                 throw new IllegalArgumentException("Invalid phone number");
             }
 
@@ -79,11 +90,25 @@ public class CandidateService {
             candidate.setLastName(dto.getLastName());
             candidate.setPhoneNumber(e164Formatted);
             candidate.setEnabled(false);
+            return candidate;
 
+        } catch (NumberParseException e) {
+            log.warn("Registration validation failed | reason=Phone number format is invalid | email={}",
+                    dto.getEmail(), e);
+            throw new IllegalArgumentException("Phone number format is invalid");
+        }
+    }
+
+    /**
+     * Saves a candidate built by {@link #buildRegisteredCandidate} with its verification token and email.
+     */
+    @Transactional
+    public Candidate saveRegisteredCandidate(Candidate candidate) {
+        try {
             candidateRepository.save(candidate);
 
-            log.debug("DB operations | action= Register user | entity=Candidate | userId={} | email={} | timestamp={}",
-                    candidate.getId(), candidate.getEmail(), LocalDateTime.now());
+            log.debug("DB operations | action= Register user | entity=Candidate | userId={} | email={}",
+                    candidate.getId(), candidate.getEmail());
 
             String token = UUID.randomUUID().toString();
             VerificationToken verificationToken = new VerificationToken();
@@ -93,18 +118,14 @@ public class CandidateService {
             verificationTokenRepository.save(verificationToken);
 
             emailService.sendVerificationEmail(candidate.getEmail(), token);
-            log.info("New user registered | userId={} | email={} | timestamp={}",
-                    candidate.getId(), candidate.getEmail(), LocalDateTime.now());
+            log.info("New user registered | userId={} | email={}",
+                    candidate.getId(), candidate.getEmail());
 
             return candidate;
 
-        } catch (NumberParseException e) {
-            log.warn("Registration validation failed | reason=Phone number format is invalid | email={} | timestamp={}",
-                    dto.getEmail(), LocalDateTime.now(), e);
-            throw new IllegalArgumentException("Phone number format is invalid");
         } catch (Exception e) {
-            log.error("Unexpected error in registerCandidate | email={} | timestamp={}",
-                    dto.getEmail(), LocalDateTime.now(), e);
+            log.error("Unexpected error in saveRegisteredCandidate | email={}",
+                    candidate.getEmail(), e);
             throw new RuntimeException("Internal server error");
         }
     }
@@ -115,65 +136,152 @@ public class CandidateService {
 //                .filter(candidate -> passwordEncoder.matches(password, candidate.getPassword()));
 //    }
 
+    public void validateCVUpload(String email, SpooledCV cv) {
+        if (!candidateRepository.existsByEmail(email)) {
+            throw new IllegalArgumentException("Candidate not found");
+        }
+
+        validateCVType(cv);
+    }
+
+    public void validateCVType(SpooledCV cv) {
+        if (!isAllowedType(cv.getMimeType())) {
+            throw new IllegalArgumentException("Invalid file type: " + cv.getMimeType());
+        }
+    }
+
+    /**
+     * Adds the skill names the dictionary has not seen yet. Called before the transaction that saves the
+     * skills, see {@link SkillDictionaryService#define}.
+     */
+    public void defineSkills(List<CandidateProfileDTO.SkillDTO> skills) {
+        skillDictionaryService.define(nullSafe(skills).stream().map(CandidateProfileDTO.SkillDTO::getName).toList());
+    }
+
     @Transactional
-    public CandidateProfileDTO uploadCVByEmail(String email, MultipartFile file) throws IOException {
-        log.info("Starting CV upload for candidate with email={}", email);
+    public CandidateProfileDTO uploadCVByEmail(String email, CVStorageService.StoredCV cv, String extractedText,
+                                               CandidateProfileDTO parsedDto) {
+        log.info("Persisting parsed CV for candidate with email={}", email);
 
         Candidate candidate = candidateRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Candidate not found"));
 
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new RuntimeException("File too large. Maximum allowed size is 10 MB.");
-        }
-        String mimeType = tika.detect(file.getInputStream());
-
-        if (!isAllowedType(mimeType)) {
-            throw new RuntimeException("Invalid file type: " + mimeType);
-        }
-        String extractedText = CVParserUtil.extractText(file.getInputStream());
-        candidate.setCvFile(file.getBytes());
-        candidate.setCvText(extractedText);
+        attachCV(candidate, cv, extractedText);
 
-        CandidateProfileDTO parsedDto = cvLlmDataExtractor.extractCandidateProfile(extractedText);
         log.debug("CV fields extracted | email={} | parsedDto={}", email, parsedDto);
-        System.out.println("DEBUG DTO: " + parsedDto);
 
         if (parsedDto.getAddress() != null && !parsedDto.getAddress().isBlank()) {
             candidate.setAddress(parsedDto.getAddress());
         }
-        parsedDto.getEducation().forEach(e -> {
+        addParsedProfile(candidate, parsedDto);
+
+        Candidate savedCandidate = candidateRepository.save(candidate);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(savedCandidate.getId()));
+
+        log.info("CV upload and persistence completed successfully for email={}", email);
+
+        return candidateMapper.toDto(savedCandidate);
+    }
+
+    /**
+     * Builds a new, not yet persisted candidate from a CV that arrived through a bulk import. Imported
+     * accounts are disabled and carry no usable password; the candidate claims the account through the
+     * password reset flow.
+     */
+    public Candidate buildImportedCandidate(CandidateProfileDTO parsedDto, CVStorageService.StoredCV cv,
+                                            String extractedText) {
+        String email = presentOrNull(parsedDto.getEmail());
+        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new IllegalArgumentException("No valid email address found in CV");
+        }
+
+        String phone;
+        try {
+            Phonenumber.PhoneNumber parsed = PhoneNumberUtil.getInstance().parse(presentOrNull(parsedDto.getPhone()), null);
+            if (!PhoneNumberUtil.getInstance().isValidNumber(parsed)) {
+                throw new IllegalArgumentException("Invalid phone number in CV");
+            }
+            phone = PhoneNumberUtil.getInstance().format(parsed, PhoneNumberUtil.PhoneNumberFormat.E164);
+        } catch (NumberParseException e) {
+            throw new IllegalArgumentException("No valid international phone number found in CV");
+        }
+
+        Candidate candidate = new Candidate();
+        candidate.setEmail(email);
+        candidate.setPassword(IMPORTED_ACCOUNT_PASSWORD);
+        candidate.setFirstName(Objects.requireNonNullElse(presentOrNull(parsedDto.getFirstName()), "N/A"));
+        candidate.setLastName(Objects.requireNonNullElse(presentOrNull(parsedDto.getLastName()), "N/A"));
+        candidate.setPhoneNumber(phone);
+        candidate.setAddress(Objects.requireNonNullElse(presentOrNull(parsedDto.getAddress()), "N/A"));
+        candidate.setEnabled(false);
+
+        attachCV(candidate, cv, extractedText);
+        defineSkills(parsedDto.getSkills());
+        addParsedProfile(candidate, parsedDto);
+        return candidate;
+    }
+
+    public boolean isRegistered(String email, String phoneNumber) {
+        return candidateRepository.existsByEmail(email) || candidateRepository.existsByPhoneNumber(phoneNumber);
+    }
+
+    @Transactional
+    public List<Candidate> saveImportedCandidates(List<Candidate> candidates) {
+        List<Candidate> saved = candidateRepository.saveAll(candidates);
+        saved.forEach(candidate -> eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(candidate.getId())));
+        log.debug("DB operations | action=Bulk import | entity=Candidate | count={}", saved.size());
+        return saved;
+    }
+
+    private void attachCV(Candidate candidate, CVStorageService.StoredCV cv, String extractedText) {
+        candidate.setCvSha256(cv.sha256());
+        candidate.setCvSize(cv.size());
+        candidate.setCvMimeType(cv.mimeType());
+        candidate.setCvFileName(cv.fileName());
+        candidate.setCvText(extractedText);
+    }
+
+    private void addParsedProfile(Candidate candidate, CandidateProfileDTO parsedDto) {
+        String email = candidate.getEmail();
+        nullSafe(parsedDto.getEducation()).forEach(e -> {
             Education edu = candidateMapper.educationDtoToEntity(e);
             edu.setCandidate(candidate);
             candidate.getEducations().add(edu);
             log.debug("Added education | candidateEmail={} | education={}", email, edu);
         });
 
-        parsedDto.getExperience().forEach(ex -> {
+        nullSafe(parsedDto.getExperience()).forEach(ex -> {
             Experience exp = candidateMapper.experienceDtoToEntity(ex);
             exp.setCandidate(candidate);
             candidate.getExperiences().add(exp);
             log.debug("Added experience | candidateEmail={} | experience={}", email, exp);
         });
 
-        parsedDto.getSkills().forEach(s -> {
+        nullSafe(parsedDto.getSkills()).forEach(s -> {
             Skill skill = candidateMapper.skillDtoToEntity(s);
             skill.setCandidate(candidate);
+            skill.setDefinition(skillDictionaryService.resolve(skill.getName()));
             candidate.getSkills().add(skill);
             log.debug("Added skill | candidateEmail={} | skill={}", email, skill);
         });
 
-        parsedDto.getLanguages().forEach(l -> {
+        nullSafe(parsedDto.getLanguages()).forEach(l -> {
             Language lang = candidateMapper.languageDtoToEntity(l);
             lang.setCandidate(candidate);
             candidate.getLanguages().add(lang);
             log.debug("Added language | candidateEmail={} | language={}", email, lang);
         });
+    }
 
-        Candidate savedCandidate = candidateRepository.save(candidate);
-
-        log.info("CV upload and persistence completed successfully for email={}", email);
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : List.of();
+    }
 
-        return candidateMapper.toDto(savedCandidate);
+    private static String presentOrNull(String value) {
+        if (value == null || value.isBlank() || "N/A".equalsIgnoreCase(value.trim())) {
+            return null;
+        }
+        return value.trim();
     }
 
     private boolean isAllowedType(String mimeType) {
@@ -181,10 +289,23 @@ public class CandidateService {
     }
 
     @Transactional(readOnly = true)
+    public CandidateCVView getCVDescriptor(Long id) {
+        return candidateRepository.findCVViewById(id)
+                .filter(cv -> cv.getCvSha256() != null)
+                .orElseThrow(() -> {
+                    log.warn("CV not found | candidateId={}", id);
+                    return new EntityNotFoundException("CV not found");
+                });
+    }
+
     public CandidateProfileDTO getCandidateProfile(Long id) {
+        return profileCache.get(id, this::loadCandidateProfile);
+    }
+
+    private CandidateProfileDTO loadCandidateProfile(Long id) {
         log.info("Loading candidate profile | candidateId={}", id);
 
-        Candidate candidate = candidateRepository.findByIdWithAllRelations(id)
+        Candidate candidate = candidateRepository.findProfileById(id)
                 .orElseThrow(() -> {
                     log.warn("Candidate not found | candidateId={}", id);
                     return new EntityNotFoundException("Candidate not found");
@@ -204,13 +325,17 @@ public class CandidateService {
                     return new EntityNotFoundException("Candidate not found");
                 });
 
-        if (dto.getEmail() != null) candidate.setEmail(dto.getEmail());
+        if (dto.getEmail() != null && !dto.getEmail().equals(candidate.getEmail())) {
+            principalCache.evict(candidate.getEmail());
+            candidate.setEmail(dto.getEmail());
+        }
         if (dto.getPhone() != null) candidate.setPhoneNumber(dto.getPhone());
         if (dto.getLastName() != null) candidate.setLastName(dto.getLastName());
         if (dto.getAddress() != null)
             candidate.setCvText(updateCvTextWithAddress(candidate.getCvText(), dto.getAddress()));
 
         candidateRepository.save(candidate);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(id));
         log.info("Candidate main profile updated successfully | candidateId={}", id);
 
         return getCandidateProfile(id);
@@ -235,6 +360,7 @@ public class CandidateService {
         education.setInstitution(dto.getInstitution());
         education.setPeriod(dto.getPeriod());
         educationRepository.save(education);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(education.getCandidate().getId()));
 
         log.info("Education updated successfully | educationId={}", id);
         return candidateMapper.educationToDto(education);
@@ -254,6 +380,7 @@ public class CandidateService {
         experience.setCompany(dto.getCompany());
         experience.setPeriod(dto.getPeriod());
         experienceRepository.save(experience);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(experience.getCandidate().getId()));
 
         log.info("Experience updated successfully | experienceId={}", id);
         return candidateMapper.experienceToDto(experience);
@@ -270,7 +397,9 @@ public class CandidateService {
                 });
 
         skill.setName(dto.getName());
+        skill.setDefinition(skillDictionaryService.resolve(dto.getName()));
         skillRepository.save(skill);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(skill.getCandidate().getId()));
 
         log.info("Skill updated successfully | skillId={}", id);
         return candidateMapper.skillToDto(skill);
@@ -289,6 +418,7 @@ public class CandidateService {
         language.setLanguage(dto.getLanguage());
         language.setLevel(dto.getLevel());
         languageRepository.save(language);
+        eventPublisher.publishEvent(new CandidateProfileUpdatedEvent(language.getCandidate().getId()));
 
         log.info("Language updated successfully | languageId={}", id);
         return candidateMapper.languageToDto(language);
@@ -0,0 +1,237 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.entities.EmailOutboxMessage;
+import org.rocman.candidate.repositories.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the email outbox. Due rows are claimed in batches (SKIP LOCKED, so several instances can run
+ * the dispatcher), each batch goes out over a single SMTP connection, and failed messages are retried with
+ * exponential backoff until they are dead-lettered.
+ */
+@Log4j2
+@Service
+public class EmailDispatcher {
+
+    private static final List<EmailOutboxMessage.Status> CLAIMABLE =
+            List.of(EmailOutboxMessage.Status.PENDING, EmailOutboxMessage.Status.SENDING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final Timer batchSendTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository,
+                           JavaMailSender mailSender,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${mail.outbox.batch-size:50}") int batchSize,
+                           @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                           @Value("${mail.outbox.backoff-initial-seconds:30}") long initialBackoffSeconds,
+                           @Value("${mail.outbox.backoff-max-minutes:60}") long maxBackoffMinutes,
+                           @Value("${mail.outbox.lease-seconds:300}") long leaseSeconds,
+                           @Value("${mail.outbox.retention-days:7}") long retentionDays) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofMinutes(maxBackoffMinutes);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retention = Duration.ofDays(retentionDays);
+
+        this.batchSendTimer = Timer.builder("mail.outbox.send")
+                .description("SMTP delivery time per outbox batch")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.messages").tag("result", "sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("mail.outbox.messages").tag("result", "retry").register(meterRegistry);
+        this.deadCounter = Counter.builder("mail.outbox.messages").tag("result", "dead").register(meterRegistry);
+        Gauge.builder("mail.outbox.depth", pending, AtomicLong::get).tag("status", "pending").register(meterRegistry);
+        Gauge.builder("mail.outbox.depth", dead, AtomicLong::get).tag("status", "dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        try {
+            List<EmailOutboxMessage> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    send(batch);
+                }
+            } while (batch.size() == batchSize);
+
+            pending.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING));
+            dead.set(emailOutboxRepository.countByStatus(EmailOutboxMessage.Status.DEAD));
+        } catch (Exception e) {
+            log.error("Email dispatch cycle failed | reason={}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${mail.outbox.purge-cron:0 15 * * * *}")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status -> emailOutboxRepository.deleteSentBefore(
+                EmailOutboxMessage.Status.SENT, LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Sent emails purged from outbox | count={}", purged);
+        }
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.findDueForUpdate(CLAIMABLE, now, PageRequest.of(0, batchSize));
+            due.forEach(message -> {
+                message.setStatus(EmailOutboxMessage.Status.SENDING);
+                message.setNextAttemptAt(now.plus(lease));
+            });
+            return due;
+        });
+    }
+
+    private void send(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> outgoing = new IdentityHashMap<>();
+        Map<EmailOutboxMessage, Exception> failed = new HashMap<>();
+
+        for (EmailOutboxMessage message : batch) {
+            try {
+                MimeMessage mime = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(mime, StandardCharsets.UTF_8.name());
+                helper.setTo(message.getRecipient());
+                helper.setSubject(message.getSubject());
+                helper.setText(message.getBody());
+                outgoing.put(mime, message);
+            } catch (MessagingException e) {
+                failed.put(message, e);
+            }
+        }
+
+        if (!outgoing.isEmpty()) {
+            long startedAt = System.nanoTime();
+            try {
+                // one SMTP connection for the whole batch
+                mailSender.send(outgoing.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    outgoing.values().forEach(message -> failed.put(message, e));
+                } else {
+                    e.getFailedMessages().forEach((mime, cause) -> {
+                        EmailOutboxMessage message = outgoing.get(mime);
+                        if (message != null) {
+                            failed.put(message, cause);
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                outgoing.values().forEach(message -> failed.put(message, e));
+            } finally {
+                batchSendTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutboxMessage message : batch) {
+                Exception failure = failed.get(message);
+                if (failure == null) {
+                    markSent(message, now);
+                } else {
+                    markFailed(message, failure, now);
+                }
+            }
+            emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void markSent(EmailOutboxMessage message, LocalDateTime now) {
+        message.setStatus(EmailOutboxMessage.Status.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(now);
+        message.setLastError(null);
+        sentCounter.increment();
+        log.info("Email sent | type={} | to={} | outboxId={} | attempt={}",
+                message.getType(), message.getRecipient(), message.getId(), message.getAttempts());
+    }
+
+    private void markFailed(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+
+        boolean permanent = failure instanceof AddressException;
+        if (permanent || attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.DEAD);
+            deadCounter.increment();
+            log.error("Email dead-lettered | type={} | to={} | outboxId={} | attempts={} | reason={}",
+                    message.getType(), message.getRecipient(), message.getId(), attempts, failure.getMessage());
+            return;
+        }
+
+        Duration backoff = backoff(attempts);
+        message.setStatus(EmailOutboxMessage.Status.PENDING);
+        message.setNextAttemptAt(now.plus(backoff));
+        retriedCounter.increment();
+        log.warn("Email send failed, will retry | type={} | to={} | outboxId={} | attempt={} | retryInSeconds={} | reason={}",
+                message.getType(), message.getRecipient(), message.getId(), attempts, backoff.toSeconds(), failure.getMessage());
+    }
+
+    /**
+     * initial * 2^(attempt-1), capped, with up to 20% jitter so a recovered SMTP server is not hit by every
+     * retry at once.
+     */
+    private Duration backoff(int attempt) {
+        long initialMs = initialBackoff.toMillis();
+        long exponential = initialMs << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, maxBackoff.toMillis());
+        long jitter = (long) (capped * 0.2 * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(capped + jitter);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
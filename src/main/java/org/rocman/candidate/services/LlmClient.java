@@ -0,0 +1,294 @@
+package org.rocman.candidate.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.LlmChatCompletionReqDTO;
+import org.rocman.candidate.dtos.LlmChatCompletionRespDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Chat completion calls to the LLM provider. Each attempt waits for a slot in the shared
+ * {@link LlmConcurrencyLimiter}, is capped by the per-call timeout, and 429/5xx/connection failures are
+ * retried with exponential backoff and jitter. A 429 with Retry-After pauses the limiter for everyone.
+ * Token usage reported by the provider is counted per model, with its cost at the configured prices.
+ */
+@Log4j2
+@Service
+public class LlmClient {
+
+    private static final Duration MAX_RETRY_AFTER = Duration.ofSeconds(60);
+    private static final String STREAM_DONE = "[DONE]";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    @Getter
+    private final String model;
+    private final LlmConcurrencyLimiter limiter;
+    private final Duration callTimeout;
+    private final Duration streamIdleTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final boolean streamUsage;
+
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Counter retryCounter;
+    private final Counter rateLimitedCounter;
+    private final Counter promptTokens;
+    private final Counter completionTokens;
+    private final Counter promptCost;
+    private final Counter completionCost;
+    private final double promptPricePerToken;
+    private final double completionPricePerToken;
+
+    public LlmClient(WebClient openaiWebClient,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${openai.api.model}") String model,
+                     @Value("${llm.client.max-concurrent:8}") int maxConcurrent,
+                     @Value("${llm.client.max-queued:200}") int maxQueued,
+                     @Value("${llm.client.acquire-timeout-seconds:120}") long acquireTimeoutSeconds,
+                     @Value("${llm.client.call-timeout-seconds:180}") long callTimeoutSeconds,
+                     @Value("${llm.client.stream-idle-timeout-seconds:30}") long streamIdleTimeoutSeconds,
+                     @Value("${llm.client.retry.max-attempts:4}") int maxAttempts,
+                     @Value("${llm.client.retry.initial-backoff-ms:500}") long initialBackoffMs,
+                     @Value("${llm.client.retry.max-backoff-ms:15000}") long maxBackoffMs,
+                     @Value("${llm.client.stream-usage:true}") boolean streamUsage,
+                     @Value("${llm.client.price.prompt-per-million-tokens:0}") double promptPricePerMillion,
+                     @Value("${llm.client.price.completion-per-million-tokens:0}") double completionPricePerMillion) {
+        this.webClient = openaiWebClient;
+        this.objectMapper = objectMapper;
+        this.model = model;
+        this.limiter = new LlmConcurrencyLimiter(maxConcurrent, maxQueued, Duration.ofSeconds(acquireTimeoutSeconds));
+        this.callTimeout = Duration.ofSeconds(callTimeoutSeconds);
+        this.streamIdleTimeout = Duration.ofSeconds(streamIdleTimeoutSeconds);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.streamUsage = streamUsage;
+        this.promptPricePerToken = promptPricePerMillion / 1_000_000;
+        this.completionPricePerToken = completionPricePerMillion / 1_000_000;
+
+        this.successTimer = Timer.builder("llm.client.requests").tag("outcome", "success")
+                .description("LLM completion time including queueing and retries").register(meterRegistry);
+        this.failureTimer = Timer.builder("llm.client.requests").tag("outcome", "failure")
+                .description("LLM completion time including queueing and retries").register(meterRegistry);
+        this.retryCounter = Counter.builder("llm.client.retries").register(meterRegistry);
+        this.rateLimitedCounter = Counter.builder("llm.client.rate_limited").register(meterRegistry);
+        this.promptTokens = Counter.builder("llm.client.tokens").tag("model", model).tag("type", "prompt")
+                .baseUnit("tokens").register(meterRegistry);
+        this.completionTokens = Counter.builder("llm.client.tokens").tag("model", model).tag("type", "completion")
+                .baseUnit("tokens").register(meterRegistry);
+        this.promptCost = Counter.builder("llm.client.cost").tag("model", model).tag("type", "prompt")
+                .baseUnit("usd").register(meterRegistry);
+        this.completionCost = Counter.builder("llm.client.cost").tag("model", model).tag("type", "completion")
+                .baseUnit("usd").register(meterRegistry);
+        Gauge.builder("llm.client.in_flight", limiter, LlmConcurrencyLimiter::inFlight).register(meterRegistry);
+        Gauge.builder("llm.client.queued", limiter, LlmConcurrencyLimiter::queued).register(meterRegistry);
+
+        log.info("LlmClient initialized | model={} | maxConcurrent={} | maxQueued={} | callTimeoutSeconds={} | maxAttempts={}",
+                model, maxConcurrent, maxQueued, callTimeoutSeconds, maxAttempts);
+    }
+
+    /**
+     * Sends {@code prompt} as a single user message and emits the content of the first choice.
+     */
+    public Mono<String> complete(String prompt) {
+        return complete(prompt, null);
+    }
+
+    /**
+     * As {@link #complete(String)}, with the completion capped at {@code maxTokens} ({@code null}: provider default).
+     */
+    public Mono<String> complete(String prompt, Integer maxTokens) {
+        LlmChatCompletionReqDTO request = request(prompt, maxTokens);
+
+        Mono<String> attempt = webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(LlmChatCompletionRespDTO.class)
+                .timeout(callTimeout)
+                .doOnNext(response -> recordUsage(response.getUsage()))
+                .map(LlmClient::content)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty response from LLM")))
+                .doOnError(WebClientResponseException.TooManyRequests.class, this::onRateLimited);
+
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return limiter.limit(attempt)
+                    .retryWhen(retry(e -> true))
+                    .onErrorMap(Exceptions::isRetryExhausted, Throwable::getCause)
+                    .doOnSuccess(content -> successTimer.record(Duration.ofNanos(System.nanoTime() - startedAt)))
+                    .doOnError(e -> onFailure(e, startedAt));
+        });
+    }
+
+    /**
+     * Streamed completion ({@code "stream": true}): emits the content deltas as the provider sends them. The
+     * first event must arrive within the per-call timeout and each next one within the stream idle timeout.
+     * Failures are retried like {@link #complete} only until the first delta has been emitted; after that the
+     * error goes to the caller, who may already hold a usable part of the answer. Token usage is requested with
+     * {@code stream_options.include_usage} (providers that reject the option: {@code llm.client.stream-usage=false}).
+     */
+    public Flux<String> stream(String prompt, Integer maxTokens) {
+        LlmChatCompletionReqDTO request = request(prompt, maxTokens);
+        request.setStream(true);
+        if (streamUsage) {
+            request.setStreamOptions(new LlmChatCompletionReqDTO.StreamOptions());
+        }
+
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicBoolean emitted = new AtomicBoolean();
+            Flux<String> attempt = webClient.post()
+                    .uri("/chat/completions")
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .bodyValue(request)
+                    .retrieve()
+                    .bodyToFlux(SSE_EVENT)
+                    .timeout(Mono.delay(callTimeout), event -> Mono.delay(streamIdleTimeout))
+                    .mapNotNull(ServerSentEvent::data)
+                    .takeWhile(data -> !STREAM_DONE.equals(data.strip()))
+                    .mapNotNull(this::delta)
+                    .doOnNext(delta -> emitted.set(true))
+                    .doOnError(WebClientResponseException.TooManyRequests.class, this::onRateLimited);
+
+            return limiter.limit(attempt)
+                    .retryWhen(retry(e -> !emitted.get()))
+                    .onErrorMap(Exceptions::isRetryExhausted, Throwable::getCause)
+                    .doOnComplete(() -> successTimer.record(Duration.ofNanos(System.nanoTime() - startedAt)))
+                    .doOnError(e -> onFailure(e, startedAt));
+        });
+    }
+
+    private LlmChatCompletionReqDTO request(String prompt, Integer maxTokens) {
+        LlmChatCompletionReqDTO request = new LlmChatCompletionReqDTO();
+        request.setModel(model);
+        request.setMessages(Collections.singletonList(new LlmChatCompletionReqDTO.ChatMessage(prompt)));
+        request.setTemperature(0.0);
+        request.setMaxTokens(maxTokens);
+        return request;
+    }
+
+    private Retry retry(Predicate<Throwable> retryAllowed) {
+        return Retry.backoff(maxAttempts - 1L, initialBackoff)
+                .maxBackoff(maxBackoff)
+                .jitter(0.5)
+                .filter(e -> isRetryable(e) && retryAllowed.test(e))
+                .doBeforeRetry(signal -> {
+                    retryCounter.increment();
+                    log.warn("LLM call failed, retrying | attempt={} | reason={}",
+                            signal.totalRetries() + 1, describe(signal.failure()));
+                });
+    }
+
+    private void onFailure(Throwable e, long startedAt) {
+        failureTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        log.error("LLM call failed | reason={}", describe(e));
+    }
+
+    /**
+     * Content of one streamed chunk ({@code choices[0].delta.content}); role-only, usage-only and malformed
+     * chunks give {@code null} and are skipped.
+     */
+    private String delta(String data) {
+        try {
+            JsonNode chunk = objectMapper.readTree(data);
+            if (chunk.path("usage").isObject()) {
+                recordUsage(objectMapper.treeToValue(chunk.get("usage"), LlmChatCompletionRespDTO.Usage.class));
+            }
+            JsonNode content = chunk.path("choices").path(0).path("delta").path("content");
+            return content.isTextual() ? content.asText() : null;
+        } catch (JsonProcessingException e) {
+            log.debug("Skipping unreadable LLM stream event | reason={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordUsage(LlmChatCompletionRespDTO.Usage usage) {
+        if (usage == null) {
+            return;
+        }
+        promptTokens.increment(usage.getPromptTokens());
+        completionTokens.increment(usage.getCompletionTokens());
+        promptCost.increment(usage.getPromptTokens() * promptPricePerToken);
+        completionCost.increment(usage.getCompletionTokens() * completionPricePerToken);
+    }
+
+    private void onRateLimited(WebClientResponseException.TooManyRequests e) {
+        rateLimitedCounter.increment();
+        Duration pause = retryAfter(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        if (pause != null) {
+            log.warn("LLM provider rate limit hit, pausing requests | pauseMs={}", pause.toMillis());
+            limiter.pauseFor(pause);
+        }
+    }
+
+    private static Duration retryAfter(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            Duration pause = Duration.ofSeconds(Long.parseLong(header.trim()));
+            return pause.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : pause;
+        } catch (NumberFormatException e) {
+            // HTTP-date form; fall back to the regular backoff
+            return null;
+        }
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private static String content(LlmChatCompletionRespDTO response) {
+        // a refusal or tool-call choice carries a message without content
+        if (response.getChoices() == null || response.getChoices().isEmpty()
+                || response.getChoices().get(0).getMessage() == null
+                || response.getChoices().get(0).getMessage().getContent() == null) {
+            throw new IllegalStateException("Empty response from LLM");
+        }
+        return response.getChoices().get(0).getMessage().getContent();
+    }
+
+    private static String describe(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return "HTTP " + response.getStatusCode().value();
+        }
+        return e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+    }
+}
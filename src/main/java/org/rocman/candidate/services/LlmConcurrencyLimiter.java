@@ -0,0 +1,197 @@
+package org.rocman.candidate.services;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking permit limiter for LLM calls: at most {@code maxConcurrent} calls run at once, up to
+ * {@code maxQueued} more wait (without holding a thread) and fail after {@code acquireTimeout}; beyond that
+ * callers are rejected. {@link #pauseFor} stops handing out permits until the provider's Retry-After has
+ * passed, so a 429 slows every caller down instead of each one retrying on its own.
+ */
+public class LlmConcurrencyLimiter {
+
+    private static final int PENDING = 0;
+    private static final int HOLDING = 1;
+    private static final int FINISHED = 2;
+
+    private final int maxQueued;
+    private final Duration acquireTimeout;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private int available;
+    private long pausedUntil;
+
+    public LlmConcurrencyLimiter(int maxConcurrent, int maxQueued, Duration acquireTimeout) {
+        this.available = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Subscribes to {@code call} once a permit is available; the permit is returned when the call completes,
+     * fails or is cancelled.
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return Mono.defer(() -> {
+            // PENDING -> HOLDING when the permit is granted, -> FINISHED when the caller is done (or gave up)
+            AtomicInteger permit = new AtomicInteger(PENDING);
+            return acquire(permit)
+                    .then(call)
+                    .doFinally(signal -> finish(permit));
+        });
+    }
+
+    /**
+     * As {@link #limit(Mono)} for a streamed call: the permit is held until the stream terminates.
+     */
+    public <T> Flux<T> limit(Flux<T> call) {
+        return Flux.defer(() -> {
+            AtomicInteger permit = new AtomicInteger(PENDING);
+            return acquire(permit)
+                    .thenMany(call)
+                    .doFinally(signal -> finish(permit));
+        });
+    }
+
+    public void pauseFor(Duration pause) {
+        long until = System.nanoTime() + pause.toNanos();
+        lock.lock();
+        try {
+            if (pausedUntil != 0 && until - pausedUntil <= 0) {
+                return;
+            }
+            pausedUntil = until;
+        } finally {
+            lock.unlock();
+        }
+        Schedulers.parallel().schedule(this::drain, pause.toMillis() + 1, TimeUnit.MILLISECONDS);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Mono<Void> acquire(AtomicInteger permit) {
+        Mono<Void> acquire = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, permit);
+            lock.lock();
+            try {
+                if (available > 0 && !isPaused() && waiters.isEmpty()) {
+                    available--;
+                    waiter.state.set(Waiter.GRANTED);
+                } else if (waiters.size() >= maxQueued) {
+                    waiter.state.set(Waiter.CANCELLED);
+                } else {
+                    waiters.addLast(waiter);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            switch (waiter.state.get()) {
+                case Waiter.GRANTED -> waiter.grant();
+                case Waiter.CANCELLED -> sink.error(new RejectedExecutionException("LLM request queue is full"));
+                default -> sink.onCancel(() -> {
+                    if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                        lock.lock();
+                        try {
+                            waiters.remove(waiter);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                });
+            }
+        });
+        return acquire.timeout(acquireTimeout, Mono.error(
+                () -> new RejectedExecutionException("Timed out waiting for an LLM request slot")));
+    }
+
+    private void finish(AtomicInteger permit) {
+        if (permit.getAndSet(FINISHED) == HOLDING) {
+            release();
+        }
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        lock.lock();
+        try {
+            available++;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Waiter next;
+            lock.lock();
+            try {
+                if (available == 0 || isPaused() || waiters.isEmpty()) {
+                    return;
+                }
+                next = waiters.pollFirst();
+                if (!next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                    continue;
+                }
+                available--;
+            } finally {
+                lock.unlock();
+            }
+            next.grant();
+        }
+    }
+
+    private boolean isPaused() {
+        return pausedUntil != 0 && pausedUntil - System.nanoTime() > 0;
+    }
+
+    private final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        final MonoSink<Void> sink;
+        final AtomicInteger permit;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(MonoSink<Void> sink, AtomicInteger permit) {
+            this.sink = sink;
+            this.permit = permit;
+        }
+
+        void grant() {
+            inFlight.incrementAndGet();
+            if (permit.compareAndSet(PENDING, HOLDING)) {
+                sink.success();
+            } else {
+                // the caller timed out or was cancelled between being granted and receiving the permit
+                release();
+            }
+        }
+    }
+}
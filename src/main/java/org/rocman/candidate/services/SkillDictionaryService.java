@@ -0,0 +1,236 @@
+package org.rocman.candidate.services;
+
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.entities.Skill;
+import org.rocman.candidate.entities.SkillDefinition;
+import org.rocman.candidate.repositories.SkillDefinitionRepository;
+import org.rocman.candidate.repositories.SkillRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Normalized skill dictionary. Free-text skill names from CVs are normalized and resolved to a
+ * {@link SkillDefinition} through its aliases; unknown names become new definitions. The alias map is
+ * held in memory so resolving a CV's skills costs no queries once the dictionary has seen them.
+ * <p>
+ * New definitions are created by {@link #define}, before the transaction that saves the skills, each in its
+ * own short transaction. {@link #resolve} runs inside the caller's transaction and never opens another one,
+ * so saving a profile holds a single pooled connection.
+ */
+@Log4j2
+@Service
+public class SkillDictionaryService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int BACKFILL_CHUNK_SIZE = 500;
+
+    private final SkillDefinitionRepository skillDefinitionRepository;
+    private final SkillRepository skillRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Resource seed;
+    private final Map<String, Long> aliasToId = new ConcurrentHashMap<>();
+
+    public SkillDictionaryService(SkillDefinitionRepository skillDefinitionRepository,
+                                  SkillRepository skillRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${skills.dictionary.seed:classpath:skills/skill-aliases.txt}") Resource seed) {
+        this.skillDefinitionRepository = skillDefinitionRepository;
+        this.skillRepository = skillRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seed = seed;
+    }
+
+    /**
+     * Lower-cases, NFKC-normalizes and collapses whitespace, so "  Java  Script" and "java script" share an alias.
+     * Returns null for blank names.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(name, Normalizer.Form.NFKC))
+                .replaceAll(" ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Loads every alias into memory and adds the seed aliases that are missing from the database.
+     */
+    public void load() {
+        aliasToId.clear();
+        skillDefinitionRepository.findAllAliases().forEach(alias -> aliasToId.put(alias.getAlias(), alias.getId()));
+        applySeed();
+        log.info("Skill dictionary loaded | aliases={}", aliasToId.size());
+    }
+
+    public Optional<Long> lookup(String name) {
+        String alias = normalize(name);
+        return alias == null ? Optional.empty() : Optional.ofNullable(aliasToId.get(alias));
+    }
+
+    /**
+     * Creates the definitions of the names the dictionary has not seen yet. Must be called outside a
+     * transaction: each definition is inserted in its own, and nesting those in the caller's would hold a
+     * second pooled connection per caller.
+     */
+    public void define(Collection<String> names) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Skill definitions must be created before the transaction starts");
+        }
+        for (String name : names) {
+            String alias = normalize(name);
+            if (alias != null && !aliasToId.containsKey(alias)) {
+                create(name.trim(), alias);
+            }
+        }
+    }
+
+    /**
+     * Returns a reference to the definition a skill name resolves to. Names passed to {@link #define} first
+     * always resolve; any other unknown name is looked up in the caller's transaction and, when missing,
+     * left unlinked (null) for {@link #linkUnresolvedSkills}. Returns null for blank names.
+     */
+    public SkillDefinition resolve(String name) {
+        String alias = normalize(name);
+        if (alias == null) {
+            return null;
+        }
+        Long id = aliasToId.get(alias);
+        if (id == null) {
+            id = skillDefinitionRepository.findIdByAlias(alias).orElse(null);
+            if (id == null) {
+                log.debug("Skill name not in dictionary, left unlinked | alias={}", alias);
+                return null;
+            }
+            aliasToId.put(alias, id);
+        }
+        return skillDefinitionRepository.getReferenceById(id);
+    }
+
+    /**
+     * Links skills saved before the dictionary existed, in chunks. Returns the number of skills linked.
+     */
+    public int linkUnresolvedSkills() {
+        int linked = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            List<String> names = transactionTemplate.execute(status ->
+                    skillRepository.findUnlinkedAfter(from, PageRequest.of(0, BACKFILL_CHUNK_SIZE)).stream()
+                            .map(Skill::getName)
+                            .toList());
+            if (names == null || names.isEmpty()) {
+                break;
+            }
+            define(names);
+
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Skill> skills = skillRepository.findUnlinkedAfter(from, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+                skills.forEach(skill -> skill.setDefinition(resolve(skill.getName())));
+                return skills.stream().map(Skill::getId).toList();
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            linked += chunk.size();
+            after = chunk.get(chunk.size() - 1);
+        }
+        if (linked > 0) {
+            log.info("Existing skills linked to the dictionary | count={}", linked);
+        }
+        return linked;
+    }
+
+    private Long create(String canonicalName, String alias) {
+        Long id;
+        try {
+            id = transactionTemplate.execute(status -> {
+                SkillDefinition definition = new SkillDefinition();
+                definition.setCanonicalName(canonicalName);
+                definition.getAliases().add(alias);
+                return skillDefinitionRepository.save(definition).getId();
+            });
+            log.debug("Skill definition created | id={} | canonicalName={}", id, canonicalName);
+        } catch (DataIntegrityViolationException e) {
+            // another thread or instance created the alias first
+            id = skillDefinitionRepository.findIdByAlias(alias).orElseThrow(() -> e);
+        }
+        aliasToId.put(alias, id);
+        return id;
+    }
+
+    private void applySeed() {
+        if (!seed.exists()) {
+            log.warn("Skill dictionary seed not found | location={}", seed);
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(seed.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf('=');
+                if (line.isBlank() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                String canonicalName = line.substring(0, separator).trim();
+                List<String> aliases = Stream.concat(Stream.of(canonicalName),
+                                Arrays.stream(line.substring(separator + 1).split(",")))
+                        .map(SkillDictionaryService::normalize)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList();
+                seedDefinition(canonicalName, aliases);
+            }
+        } catch (IOException e) {
+            log.error("Could not read skill dictionary seed | location={} | reason={}", seed, e.getMessage(), e);
+        }
+    }
+
+    private void seedDefinition(String canonicalName, List<String> aliases) {
+        List<String> missing = aliases.stream().filter(alias -> !aliasToId.containsKey(alias)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Long existingId = aliases.stream().map(aliasToId::get).filter(Objects::nonNull).findFirst().orElse(null);
+
+        try {
+            Long id = transactionTemplate.execute(status -> {
+                SkillDefinition definition = existingId != null
+                        ? skillDefinitionRepository.findById(existingId).orElseThrow()
+                        : new SkillDefinition();
+                if (definition.getCanonicalName() == null) {
+                    definition.setCanonicalName(canonicalName);
+                }
+                definition.getAliases().addAll(missing);
+                return skillDefinitionRepository.save(definition).getId();
+            });
+            missing.forEach(alias -> aliasToId.put(alias, id));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Skill dictionary seed entry skipped | canonicalName={} | reason={}", canonicalName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.repositories.SkillPostingView;
+import org.rocman.candidate.repositories.SkillRepository;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from skill definition id to a compressed bitmap of candidate ids. Built from the
+ * skills table on startup, then kept current from {@link CandidateProfileUpdatedEvent}s after commit.
+ * Candidate ids are stored as 32-bit ints.
+ */
+@Log4j2
+@Service
+public class SkillSearchIndex {
+
+    private final SkillRepository skillRepository;
+    private final SkillDictionaryService skillDictionaryService;
+    private final int rebuildPageSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> updatedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+    private Map<Long, RoaringBitmap> postings = new HashMap<>();
+    private Map<Integer, long[]> skillsByCandidate = new HashMap<>();
+    private volatile boolean ready;
+    private volatile boolean building;
+
+    public SkillSearchIndex(SkillRepository skillRepository,
+                            SkillDictionaryService skillDictionaryService,
+                            MeterRegistry meterRegistry,
+                            @Value("${skills.index.rebuild-page-size:10000}") int rebuildPageSize) {
+        this.skillRepository = skillRepository;
+        this.skillDictionaryService = skillDictionaryService;
+        this.rebuildPageSize = rebuildPageSize;
+
+        Gauge.builder("skills.index.candidates", this, SkillSearchIndex::candidateCount)
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(this::rebuild, "skill-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    public void rebuild() {
+        building = true;
+        long startedAt = System.nanoTime();
+        try {
+            skillDictionaryService.load();
+            skillDictionaryService.linkUnresolvedSkills();
+
+            Map<Long, RoaringBitmap> newPostings = new HashMap<>();
+            Map<Integer, List<Long>> candidateSkills = new HashMap<>();
+            long after = 0;
+            List<SkillPostingView> page;
+            do {
+                page = skillRepository.findPostingsAfter(after, PageRequest.of(0, rebuildPageSize));
+                for (SkillPostingView posting : page) {
+                    int candidateId = Math.toIntExact(posting.getCandidateId());
+                    newPostings.computeIfAbsent(posting.getSkillId(), id -> new RoaringBitmap()).add(candidateId);
+                    candidateSkills.computeIfAbsent(candidateId, id -> new ArrayList<>()).add(posting.getSkillId());
+                    after = posting.getId();
+                }
+            } while (page.size() == rebuildPageSize);
+
+            newPostings.values().forEach(RoaringBitmap::runOptimize);
+            Map<Integer, long[]> newSkillsByCandidate = new HashMap<>(candidateSkills.size() * 2);
+            candidateSkills.forEach((id, skills) ->
+                    newSkillsByCandidate.put(id, skills.stream().mapToLong(Long::longValue).distinct().toArray()));
+
+            lock.writeLock().lock();
+            try {
+                postings = newPostings;
+                skillsByCandidate = newSkillsByCandidate;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception e) {
+            log.error("Skill index build failed | reason={}", e.getMessage(), e);
+            return;
+        } finally {
+            building = false;
+        }
+
+        // profiles saved while the snapshot was being read may be missing from it
+        for (Long candidateId : List.copyOf(updatedWhileBuilding)) {
+            updatedWhileBuilding.remove(candidateId);
+            reindex(candidateId);
+        }
+        ready = true;
+        log.info("Skill index built | skills={} | candidates={} | elapsedMs={}",
+                skillCount(), candidateCount(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onProfileUpdated(CandidateProfileUpdatedEvent event) {
+        if (building) {
+            updatedWhileBuilding.add(event.candidateId());
+        }
+        try {
+            reindex(event.candidateId());
+        } catch (Exception e) {
+            log.error("Skill index update failed | candidateId={} | reason={}", event.candidateId(), e.getMessage(), e);
+        }
+    }
+
+    private void reindex(Long candidateId) {
+        index(candidateId, skillRepository.findDefinitionIdsByCandidateId(candidateId));
+    }
+
+    /**
+     * Replaces the indexed skills of one candidate.
+     */
+    public void index(long candidateId, Collection<Long> skillIds) {
+        int id = Math.toIntExact(candidateId);
+        long[] current = skillIds.stream().mapToLong(Long::longValue).distinct().toArray();
+
+        lock.writeLock().lock();
+        try {
+            long[] previous = skillsByCandidate.get(id);
+            if (previous != null) {
+                for (long skillId : previous) {
+                    RoaringBitmap bitmap = postings.get(skillId);
+                    if (bitmap != null) {
+                        bitmap.remove(id);
+                    }
+                }
+            }
+            for (long skillId : current) {
+                postings.computeIfAbsent(skillId, key -> new RoaringBitmap()).add(id);
+            }
+            if (current.length > 0) {
+                skillsByCandidate.put(id, current);
+            } else {
+                skillsByCandidate.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Candidates that have all ({@code matchAll}) or any of the given skills. The returned bitmap is a copy
+     * owned by the caller.
+     */
+    public RoaringBitmap search(Collection<Long> skillIds, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(skillIds.size());
+            for (Long skillId : skillIds) {
+                RoaringBitmap bitmap = postings.get(skillId);
+                if (bitmap == null) {
+                    if (matchAll) {
+                        return new RoaringBitmap();
+                    }
+                    continue;
+                }
+                bitmaps.add(bitmap);
+            }
+            if (bitmaps.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            if (bitmaps.size() == 1) {
+                return bitmaps.get(0).clone();
+            }
+            return matchAll
+                    ? FastAggregation.and(bitmaps.iterator())
+                    : FastAggregation.or(bitmaps.iterator());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int candidateCount() {
+        lock.readLock().lock();
+        try {
+            return skillsByCandidate.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int skillCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.repositories.PasswordResetTokenRepository;
+import org.rocman.candidate.repositories.VerificationTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Deletes expired verification and password reset tokens. Each chunk is selected and deleted in its own
+ * short transaction, so a large backlog never holds row locks for long.
+ */
+@Log4j2
+@Service
+public class TokenMaintenanceService {
+
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final Duration grace;
+
+    public TokenMaintenanceService(VerificationTokenRepository verificationTokenRepository,
+                                   PasswordResetTokenRepository passwordResetTokenRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${token.purge.chunk-size:1000}") int chunkSize,
+                                   @Value("${token.purge.pause-ms:50}") long pauseMs,
+                                   @Value("${token.purge.grace-minutes:60}") long graceMinutes) {
+        this.verificationTokenRepository = verificationTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.grace = Duration.ofMinutes(graceMinutes);
+    }
+
+    @Scheduled(cron = "${token.purge.cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        // the grace period keeps just-expired tokens around so users get "expired" rather than "invalid"
+        LocalDateTime before = LocalDateTime.now().minus(grace);
+        purge("verification", before, verificationTokenRepository::findExpiredIds, verificationTokenRepository::deleteByIdIn);
+        purge("password_reset", before, passwordResetTokenRepository::findExpiredIds, passwordResetTokenRepository::deleteByIdIn);
+    }
+
+    private void purge(String type, LocalDateTime before,
+                       BiFunction<LocalDateTime, Pageable, List<Long>> findExpired,
+                       Function<Collection<Long>, Integer> delete) {
+        Counter purged = Counter.builder("tokens.purged").tag("type", type).register(meterRegistry);
+        Timer timer = Timer.builder("tokens.purge").tag("type", type).register(meterRegistry);
+
+        long startedAt = System.nanoTime();
+        int total = 0;
+        try {
+            while (true) {
+                Integer deleted = transactionTemplate.execute(status -> {
+                    List<Long> ids = findExpired.apply(before, PageRequest.of(0, chunkSize));
+                    return ids.isEmpty() ? 0 : delete.apply(ids);
+                });
+                if (deleted == null || deleted == 0) {
+                    break;
+                }
+                total += deleted;
+                purged.increment(deleted);
+                if (deleted < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Token purge failed | type={} | purged={} | reason={}", type, total, e.getMessage(), e);
+        } finally {
+            timer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+
+        if (total > 0) {
+            log.info("Expired tokens purged | type={} | count={} | elapsedMs={}",
+                    type, total, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+}
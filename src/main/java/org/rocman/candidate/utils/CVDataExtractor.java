@@ -1,151 +1,442 @@
-//package org.rocman.candidate.utils;
-//
-//import lombok.extern.log4j.Log4j2;
-//import org.rocman.candidate.dtos.*;
-//
-//import java.util.*;
-//import java.util.regex.*;
-//
-//@Log4j2
-//public class CVDataExtractor {
-//
-//    public static CandidateProfileDTO extractFields(String text) {
-//        CandidateProfileDTO data = new CandidateProfileDTO();
-//        String normalizedText = text.replaceAll("\\s+", " ").trim();
-//
-//        log.info("Starting structured CV extraction...");
-//
-//        data.setEmail(extractPattern(normalizedText, "[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-z]{2,}"));
-//        data.setPhone(extractPattern(normalizedText, "\\+?\\d{7,15}"));
-//
-//        String fullName = extractFullName(normalizedText);
-//        if (fullName != null) {
-//            String[] parts = fullName.split("\\s+");
-//            if (parts.length >= 2) {
-//                data.setFirstName(parts[0]);
-//                data.setLastName(parts[1]);
-//            }
-//        }
-//
-//        data.setAddress(extractAddress(normalizedText));
-//
-//        data.setEducation(extractEducation(normalizedText));
-//        data.setExperience(extractExperience(normalizedText));
-//        data.setSkills(extractSkills(normalizedText));
-//        data.setLanguages(extractLanguages(normalizedText));
-//
-//        log.info("Extraction finished. Candidate detected: {} {}", data.getFirstName(), data.getLastName());
-//        return data;
-//    }
-//
-//    private static String extractPattern(String text, String regex) {
-//        Matcher matcher = Pattern.compile(regex).matcher(text);
-//        if (matcher.find()) {
-//            log.debug("Pattern [{}] matched: {}", regex, matcher.group());
-//            return matcher.group();
-//        }
-//        return null;
-//    }
-//
-//    private static String extractFullName(String text) {
-//        Matcher matcher = Pattern.compile("\\b([A-Z][a-z]+|[А-ЯЁ][а-яё]+)\\s+([A-Z][a-z]+|[А-ЯЁ][а-яё]+)").matcher(text);
-//        return matcher.find() ? matcher.group() : null;
-//    }
-//
-//    public static String extractAddress(String text) {
-//        Matcher matcher = Pattern.compile("(?i)(address|adresse |str |strada|street|адрес)[:]? ([^,\\n]+)").matcher(text);
-//        return matcher.find() ? matcher.group(2).trim() : null;
-//    }
-//
-//    private static List<CandidateProfileDTO.EducationDTO> extractEducation(String text) {
-//        List<CandidateProfileDTO.EducationDTO> educationList = new ArrayList<>();
-//        Pattern pattern = Pattern.compile(
-//                "(?i)(education|training|educație|bachelor|ba|ma|master|doctor|phd|licență|facultate|universitate|colegiu|curs|certificare|licence|" +
-//                        "licence professionnelle|doctorat|cours|formation|certification|diplôme|bac+3|bac+5|éducation|университет|бакалавр|магистр)" +
-//                        "[^,\\n]*,\\s*([\\p{L} .]+),\\s*([0-9]{4}(?:-[0-9]{4}| – prezent| – насто(?:я|и)щее время))"
-//        );
-//        Matcher matcher = pattern.matcher(text);
-//
-//        while (matcher.find()) {
-//            CandidateProfileDTO.EducationDTO edu = new CandidateProfileDTO.EducationDTO();
-//            edu.setLevel(matcher.group(1).trim());
-//            edu.setInstitution(matcher.group(2).trim());
-//            edu.setPeriod(matcher.group(3).trim());
-//            educationList.add(edu);
-//        }
-//
-//        return educationList;
-//    }
-//
-//    private static List<CandidateProfileDTO.ExperienceDTO> extractExperience(String text) {
-//        List<CandidateProfileDTO.ExperienceDTO> experiences = new ArrayList<>();
-//
-//        Pattern pattern = Pattern.compile(
-//                "(?i)([\\p{L} ]+?)\\s*,\\s*([\\p{L} .]+?)\\s*,\\s*([0-9]{4}(?:-[0-9]{4}| – [0-9]{4}|present| présent| – prezent| – насто(?:я|и)щее время))"
-//        );
-//        Matcher matcher = pattern.matcher(text);
-//
-//        while (matcher.find()) {
-//            CandidateProfileDTO.ExperienceDTO exp = new CandidateProfileDTO.ExperienceDTO();
-//            exp.setTitle(matcher.group(1).trim());
-//            exp.setCompany(matcher.group(2).trim());
-//            exp.setPeriod(matcher.group(3).trim());
-//            experiences.add(exp);
-//        }
-//
-//        return experiences;
-//    }
-//
-//
-//    private static List<CandidateProfileDTO.SkillDTO> extractSkills(String text) {
-//        List<CandidateProfileDTO.SkillDTO> list = new ArrayList<>();
-//        Matcher matcher = Pattern.compile("(?i)(skills|competencies|calificari|competențe|compétences |навыки)[:]?([^\\n]+)").matcher(text);
-//        if (matcher.find()) {
-//            String[] tokens = matcher.group(2).split("[,;•]");
-//            for (String token : tokens) {
-//                CandidateProfileDTO.SkillDTO dto = new CandidateProfileDTO.SkillDTO();
-//                dto.setName(token.trim());
-//                list.add(dto);
-//            }
-//        }
-//        return list;
-//    }
-//
-//    private static List<CandidateProfileDTO.LanguageDTO> extractLanguages(String text) {
-//        List<CandidateProfileDTO.LanguageDTO> languages = new ArrayList<>();
-//
-//        Pattern sectionPattern = Pattern.compile("(?i)(languages|limbi străine|langues|yaz[y|i]ki|языки)[:]?([^\\n]+)");
-//        Matcher sectionMatcher = sectionPattern.matcher(text);
-//
-//        if (sectionMatcher.find()) {
-//            String langsRaw = sectionMatcher.group(2);
-//            String[] entries = langsRaw.split("[,;]");
-//
-//            for (String entry : entries) {
-//                String lang = entry.trim();
-//
-//                Matcher levelMatcher = Pattern.compile(
-//                        "(A1|A2|B1|B2|C1|C2|toefl|ielts|cambridge|delf|dalf|goethe|native|materna|nativ|natif|maternelle|bilingue|maitrise|fluent|autonome|материнский|носитель|advanced|avansat|avance|продвинутый|independent|proficient|conversational|seuil|intermediate|intermediar|intermediaire|средний|beginner|начальный|elementar|baza|elementary|элементарный|basic|incepator|debutant)",
-//                        Pattern.CASE_INSENSITIVE
-//                ).matcher(lang);
-//
-//                String level = null;
-//                if (levelMatcher.find()) {
-//                    level = levelMatcher.group().toUpperCase();
-//                }
-//
-//                String languageName = lang.replaceAll(
-//                        "(?i)(A1|A2|B1|B2|C1|C2|toefl|ielts|cambridge|delf|dalf|goethe|native|materna|nativ|natif|maternelle|bilingue|maitrise|fluent|autonome|материнский|носитель|advanced|avansat|avance|продвинутый|independent|proficient|conversational|seuil|intermediate|intermediar|intermediaire|средний|beginner|начальный|elementar|baza|elementary|элементарный|basic|incepator|debutant)",
-//                        ""
-//                ).trim();
-//
-//                CandidateProfileDTO.LanguageDTO dto = new CandidateProfileDTO.LanguageDTO();
-//                dto.setLanguage(languageName);
-//                dto.setLevel(level != null ? level : "UNKNOWN");
-//                languages.add(dto);
-//            }
-//        }
-//
-//        return languages;
-//    }
-//}
+package org.rocman.candidate.utils;
+
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.utils.CVSectionChunker.Section;
+import org.rocman.candidate.utils.CVSectionChunker.SectionType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule-based first pass over the CV text, run before the LLM. Each field gets a confidence between 0 and 1:
+ * high for what patterns read reliably (an email, a labelled or international phone number, a list of known
+ * languages with CEFR levels, a comma-separated skills list, "Title, Company, 2019 - 2021" experience lines),
+ * low or 0 for prose it cannot structure. {@link LocalExtraction#remainingText} leaves out the sections whose
+ * fields are already confident, so only the rest goes to the LLM.
+ */
+@Log4j2
+public class CVDataExtractor {
+
+    public enum Field {
+        EMAIL, PHONE, FIRST_NAME, LAST_NAME, ADDRESS, EDUCATION, EXPERIENCE, SKILLS, LANGUAGES
+    }
+
+    /**
+     * Fields that must all be confident to skip the LLM; phone and address are often simply absent.
+     */
+    public static final Set<Field> CORE_FIELDS = Set.of(
+            Field.EMAIL, Field.FIRST_NAME, Field.LAST_NAME, Field.EDUCATION, Field.EXPERIENCE, Field.SKILLS,
+            Field.LANGUAGES);
+    // what the header section holds; it is only left out of the LLM text once all of them were read
+    private static final Set<Field> HEADER_FIELDS = Set.of(
+            Field.EMAIL, Field.PHONE, Field.FIRST_NAME, Field.LAST_NAME, Field.ADDRESS);
+
+    private static final String MISSING = CandidateProfileMerger.MISSING;
+
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9-]+(?:\\.[A-Za-z0-9-]+)*\\.[A-Za-z]{2,}");
+    private static final Pattern LABELLED_PHONE = Pattern.compile(
+            "(?iU)\\b(?:tel|phone|telefon|mobile|mobil|gsm|téléphone|portable|тел|телефон|моб)\\w*\\.?\\s*[:.-]?\\s*(\\+?\\d[\\d ()./-]{6,20}\\d)");
+    private static final Pattern INTERNATIONAL_PHONE = Pattern.compile("(?<![\\w+])\\+\\d[\\d ()./-]{7,20}\\d");
+    private static final Pattern LABELLED_NAME = Pattern.compile(
+            "(?iu)^\\s*(?:name|full name|nume|numele|nume și prenume|nom|nom complet|имя|фио)\\s*[:-]\\s*(.+)$");
+    private static final Pattern NAME_WORD = Pattern.compile("\\p{Lu}[\\p{L}'’-]+");
+    private static final Set<String> TITLE_WORDS = Set.of("cv", "curriculum", "vitae", "resume", "europass", "резюме");
+    private static final Pattern ADDRESS = Pattern.compile(
+            "(?iu)^\\s*(?:address|adresa|adresă|adresse|domiciliu|адрес)\\s*[:-]\\s*(.+)$");
+
+    private static final String PERIOD = "(?:\\d{1,2}[./])?\\d{4}(?:\\s*[-–—]\\s*(?:(?:\\d{1,2}[./])?\\d{4}"
+            + "|present|current|now|prezent|în prezent|présent|aujourd'hui|настоящее время|н\\.\\s?в\\.))?";
+    private static final Pattern STRUCTURED_ENTRY = Pattern.compile(
+            "(?iu)^\\s*[-•*·]?\\s*([^,|]{2,80}?)\\s*[,|]\\s*([^,|]{2,80}?)\\s*[,|]\\s*(" + PERIOD + ")\\s*$");
+    private static final Pattern DEGREE = Pattern.compile(
+            "(?iU)\\b(?:bachelor|master|phd|doctor|doctorat|licen[țţt]ă|licence|licen[țţ]iat|masterat|bac|diplôme|"
+                    + "diploma|college|colegiu|бакалавр|магистр|специалист|аспирантура|доктор)\\w*");
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*(?:[,;•|·]|\\s[-–]\\s)\\s*");
+    private static final Pattern LANGUAGE_LEVEL = Pattern.compile(
+            "(?iU)\\b(?:[ABC][12]|native|mother tongue|fluent|advanced|upper[- ]intermediate|intermediate|"
+                    + "beginner|elementary|basic|proficient|conversational|nativ[ăa]?|matern[ăa]|avansat|mediu|"
+                    + "intermediar|începător|incepator|natif|maternelle|bilingue|courant|avancé|débutant|"
+                    + "родной|свободно|продвинутый|средний|базовый|начальный|разговорный)\\b");
+    private static final Set<String> LANGUAGE_NAMES = Set.of(
+            "english", "engleza", "anglais", "английскии",
+            "romanian", "romana", "moldovan", "moldoveneasca", "roumain", "румынскии", "молдавскии",
+            "russian", "rusa", "russe", "русскии",
+            "french", "franceza", "francais", "французскии",
+            "german", "germana", "allemand", "немецкии",
+            "spanish", "spaniola", "espagnol", "испанскии",
+            "italian", "italiana", "italien", "итальянскии",
+            "ukrainian", "ucraineana", "ukrainien", "украинскии",
+            "turkish", "turca", "turc", "турецкии",
+            "portuguese", "portugheza", "portugais", "португальскии",
+            "chinese", "chineza", "chinois", "китаискии",
+            "japanese", "japoneza", "japonais", "японскии",
+            "polish", "poloneza", "polonais", "польскии",
+            "bulgarian", "bulgara", "bulgare", "болгарскии",
+            "gagauz", "gagauza", "гагаузскии");
+
+    private static final int MAX_SKILL_WORDS = 4;
+    private static final int MAX_SKILL_CHARS = 40;
+
+    public record LocalExtraction(CandidateProfileDTO profile, Map<Field, Double> confidence, List<Section> sections) {
+
+        public boolean isConfident(Field field, double threshold) {
+            return confidence.getOrDefault(field, 0.0) >= threshold;
+        }
+
+        public boolean coversCore(double threshold) {
+            return CORE_FIELDS.stream().allMatch(field -> isConfident(field, threshold));
+        }
+
+        /**
+         * The extracted profile with only the confident fields set (the rest "N/A" or empty), to be merged ahead
+         * of the LLM result.
+         */
+        public CandidateProfileDTO confidentProfile(double threshold) {
+            CandidateProfileDTO dto = new CandidateProfileDTO();
+            dto.setEmail(isConfident(Field.EMAIL, threshold) ? profile.getEmail() : MISSING);
+            dto.setPhone(isConfident(Field.PHONE, threshold) ? profile.getPhone() : MISSING);
+            dto.setFirstName(isConfident(Field.FIRST_NAME, threshold) ? profile.getFirstName() : MISSING);
+            dto.setLastName(isConfident(Field.LAST_NAME, threshold) ? profile.getLastName() : MISSING);
+            dto.setAddress(isConfident(Field.ADDRESS, threshold) ? profile.getAddress() : MISSING);
+            dto.setEducation(isConfident(Field.EDUCATION, threshold) ? profile.getEducation() : new ArrayList<>());
+            dto.setExperience(isConfident(Field.EXPERIENCE, threshold) ? profile.getExperience() : new ArrayList<>());
+            dto.setSkills(isConfident(Field.SKILLS, threshold) ? profile.getSkills() : new ArrayList<>());
+            dto.setLanguages(isConfident(Field.LANGUAGES, threshold) ? profile.getLanguages() : new ArrayList<>());
+            return dto;
+        }
+
+        /**
+         * The CV text without the sections already covered: the header once all contact fields are confident, and
+         * each education/experience/skills/languages section whose field is. Miscellaneous sections stay, and so
+         * does the header when no heading was found (it is then the whole CV).
+         */
+        public String remainingText(double threshold) {
+            boolean headerCovered = sections.size() > 1
+                    && HEADER_FIELDS.stream().allMatch(field -> isConfident(field, threshold));
+            StringBuilder remaining = new StringBuilder();
+            for (Section section : sections) {
+                boolean covered = switch (section.type()) {
+                    case HEADER -> headerCovered;
+                    case EDUCATION -> isConfident(Field.EDUCATION, threshold);
+                    case EXPERIENCE -> isConfident(Field.EXPERIENCE, threshold);
+                    case SKILLS -> isConfident(Field.SKILLS, threshold);
+                    case LANGUAGES -> isConfident(Field.LANGUAGES, threshold);
+                    case OTHER -> false;
+                };
+                if (!covered) {
+                    remaining.append(section.text());
+                }
+            }
+            return remaining.toString();
+        }
+    }
+
+    public static LocalExtraction extract(String text) {
+        List<Section> sections = CVSectionChunker.sections(text);
+        CandidateProfileDTO data = new CandidateProfileDTO();
+        Map<Field, Double> confidence = new EnumMap<>(Field.class);
+
+        String header = sections.stream()
+                .filter(section -> section.type() == SectionType.HEADER)
+                .map(Section::text)
+                .findFirst()
+                .orElse("");
+
+        extractEmail(header, text, data, confidence);
+        extractPhone(text, data, confidence);
+        extractName(header, data, confidence);
+        extractAddress(header.isEmpty() ? text : header, data, confidence);
+
+        List<CandidateProfileDTO.EducationDTO> education = new ArrayList<>();
+        List<CandidateProfileDTO.ExperienceDTO> experience = new ArrayList<>();
+        List<CandidateProfileDTO.SkillDTO> skills = new ArrayList<>();
+        List<CandidateProfileDTO.LanguageDTO> languages = new ArrayList<>();
+        // per type: lines recognised, lines seen; a CV with the same heading twice is scored over both
+        int[][] lines = new int[SectionType.values().length][2];
+        for (Section section : sections) {
+            int[] counts = lines[section.type().ordinal()];
+            switch (section.type()) {
+                case EDUCATION -> extractEducation(section, education, counts);
+                case EXPERIENCE -> extractExperience(section, experience, counts);
+                case SKILLS -> extractSkills(section, skills, counts);
+                case LANGUAGES -> extractLanguages(section, languages, counts);
+                default -> {
+                }
+            }
+        }
+        data.setEducation(education);
+        data.setExperience(experience);
+        data.setSkills(skills);
+        data.setLanguages(languages);
+        confidence.put(Field.EDUCATION, listConfidence(lines[SectionType.EDUCATION.ordinal()], 0.9));
+        confidence.put(Field.EXPERIENCE, listConfidence(lines[SectionType.EXPERIENCE.ordinal()], 0.9));
+        confidence.put(Field.SKILLS, listConfidence(lines[SectionType.SKILLS.ordinal()], 0.9));
+        confidence.put(Field.LANGUAGES, listConfidence(lines[SectionType.LANGUAGES.ordinal()], 0.95));
+
+        log.debug("Local CV extraction finished | confidence={}", confidence);
+        return new LocalExtraction(data, confidence, sections);
+    }
+
+    private static void extractEmail(String header, String text, CandidateProfileDTO data, Map<Field, Double> confidence) {
+        Matcher matcher = EMAIL.matcher(header);
+        double score = 0.98;
+        if (!matcher.find()) {
+            matcher = EMAIL.matcher(text);
+            score = 0.9;
+            if (!matcher.find()) {
+                data.setEmail(MISSING);
+                confidence.put(Field.EMAIL, 0.0);
+                return;
+            }
+        }
+        data.setEmail(matcher.group());
+        confidence.put(Field.EMAIL, score);
+    }
+
+    private static void extractPhone(String text, CandidateProfileDTO data, Map<Field, Double> confidence) {
+        Matcher labelled = LABELLED_PHONE.matcher(text);
+        while (labelled.find()) {
+            if (isPhoneNumber(labelled.group(1))) {
+                data.setPhone(labelled.group(1).trim());
+                confidence.put(Field.PHONE, 0.95);
+                return;
+            }
+        }
+        Matcher international = INTERNATIONAL_PHONE.matcher(text);
+        while (international.find()) {
+            if (isPhoneNumber(international.group())) {
+                data.setPhone(international.group().trim());
+                confidence.put(Field.PHONE, 0.9);
+                return;
+            }
+        }
+        data.setPhone(MISSING);
+        confidence.put(Field.PHONE, 0.0);
+    }
+
+    private static boolean isPhoneNumber(String candidate) {
+        int digits = 0;
+        for (int i = 0; i < candidate.length(); i++) {
+            if (Character.isDigit(candidate.charAt(i))) {
+                digits++;
+            }
+        }
+        return digits >= 8 && digits <= 15;
+    }
+
+    /**
+     * "Name: Ion Popescu" anywhere in the header, otherwise its first line when that is two or three capitalised
+     * words and nothing else.
+     */
+    private static void extractName(String header, CandidateProfileDTO data, Map<Field, Double> confidence) {
+        String name = null;
+        double score = 0.0;
+        String firstLine = null;
+        for (String line : header.split("\\R")) {
+            Matcher labelled = LABELLED_NAME.matcher(line);
+            if (labelled.find()) {
+                name = labelled.group(1).strip();
+                score = 0.9;
+                break;
+            }
+            if (firstLine == null && !line.isBlank()) {
+                firstLine = line.strip();
+            }
+        }
+        if (name == null && firstLine != null) {
+            String[] words = firstLine.split("\\s+");
+            if (words.length >= 2 && words.length <= 3 && allNameWords(words)) {
+                name = firstLine;
+                score = 0.85;
+            }
+        }
+
+        String[] words = name != null ? name.split("\\s+", 2) : new String[0];
+        if (words.length < 2) {
+            data.setFirstName(MISSING);
+            data.setLastName(MISSING);
+            confidence.put(Field.FIRST_NAME, 0.0);
+            confidence.put(Field.LAST_NAME, 0.0);
+            return;
+        }
+        data.setFirstName(words[0]);
+        data.setLastName(words[1]);
+        confidence.put(Field.FIRST_NAME, score);
+        confidence.put(Field.LAST_NAME, score);
+    }
+
+    private static boolean allNameWords(String[] words) {
+        for (String word : words) {
+            if (!NAME_WORD.matcher(word).matches() || TITLE_WORDS.contains(CVSectionChunker.normalize(word))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void extractAddress(String text, CandidateProfileDTO data, Map<Field, Double> confidence) {
+        for (String line : text.split("\\R")) {
+            Matcher matcher = ADDRESS.matcher(line);
+            if (matcher.find()) {
+                data.setAddress(matcher.group(1).strip());
+                confidence.put(Field.ADDRESS, 0.85);
+                return;
+            }
+        }
+        data.setAddress(MISSING);
+        confidence.put(Field.ADDRESS, 0.0);
+    }
+
+    private static void extractEducation(Section section, List<CandidateProfileDTO.EducationDTO> education, int[] counts) {
+        for (String line : contentLines(section)) {
+            counts[1]++;
+            Matcher matcher = STRUCTURED_ENTRY.matcher(line);
+            if (matcher.matches()) {
+                String first = matcher.group(1).strip();
+                String second = matcher.group(2).strip();
+                // "Level, Institution, Period" is the usual order, but accept the institution first
+                boolean swapped = !DEGREE.matcher(first).find() && DEGREE.matcher(second).find();
+                CandidateProfileDTO.EducationDTO dto = new CandidateProfileDTO.EducationDTO();
+                dto.setLevel(swapped ? second : first);
+                dto.setInstitution(swapped ? first : second);
+                dto.setPeriod(matcher.group(3).strip());
+                education.add(dto);
+                counts[0]++;
+            }
+        }
+    }
+
+    private static void extractExperience(Section section, List<CandidateProfileDTO.ExperienceDTO> experience, int[] counts) {
+        for (String line : contentLines(section)) {
+            counts[1]++;
+            Matcher matcher = STRUCTURED_ENTRY.matcher(line);
+            if (matcher.matches()) {
+                CandidateProfileDTO.ExperienceDTO dto = new CandidateProfileDTO.ExperienceDTO();
+                dto.setTitle(matcher.group(1).strip());
+                dto.setCompany(matcher.group(2).strip());
+                dto.setPeriod(matcher.group(3).strip());
+                experience.add(dto);
+                counts[0]++;
+            }
+        }
+    }
+
+    /**
+     * Counts a line as recognised when every item on it is short enough to be a skill name rather than a
+     * sentence; a sub-label before a colon ("Databases: PostgreSQL, Oracle") is dropped.
+     */
+    private static void extractSkills(Section section, List<CandidateProfileDTO.SkillDTO> skills, int[] counts) {
+        for (String line : contentLines(section)) {
+            counts[1]++;
+            int colon = line.lastIndexOf(':');
+            String items = colon >= 0 ? line.substring(colon + 1) : line;
+            boolean allShort = true;
+            List<CandidateProfileDTO.SkillDTO> found = new ArrayList<>();
+            for (String item : LIST_SEPARATOR.split(stripBullet(items))) {
+                String name = item.strip();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (name.length() > MAX_SKILL_CHARS || name.split("\\s+").length > MAX_SKILL_WORDS) {
+                    allShort = false;
+                    break;
+                }
+                CandidateProfileDTO.SkillDTO dto = new CandidateProfileDTO.SkillDTO();
+                dto.setName(name);
+                found.add(dto);
+            }
+            if (allShort && !found.isEmpty()) {
+                skills.addAll(found);
+                counts[0]++;
+            }
+        }
+    }
+
+    /**
+     * Counts a line as recognised when each of its entries names a known language ("Engleză - B2, Franceză -
+     * A2"); Europass self-assessment grids and free text are left to the LLM.
+     */
+    private static void extractLanguages(Section section, List<CandidateProfileDTO.LanguageDTO> languages, int[] counts) {
+        for (String line : contentLines(section)) {
+            counts[1]++;
+            List<CandidateProfileDTO.LanguageDTO> found = new ArrayList<>();
+            boolean allKnown = true;
+            for (String entry : line.split("[,;•|·]")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                CandidateProfileDTO.LanguageDTO dto = language(entry);
+                if (dto == null) {
+                    allKnown = false;
+                    break;
+                }
+                found.add(dto);
+            }
+            if (allKnown && !found.isEmpty()) {
+                languages.addAll(found);
+                counts[0]++;
+            }
+        }
+    }
+
+    private static CandidateProfileDTO.LanguageDTO language(String entry) {
+        String language = null;
+        for (String word : stripBullet(entry).split("[\\s:()–—-]+")) {
+            if (LANGUAGE_NAMES.contains(CVSectionChunker.normalize(word))) {
+                language = word;
+                break;
+            }
+        }
+        if (language == null) {
+            return null;
+        }
+        Matcher level = LANGUAGE_LEVEL.matcher(entry);
+        CandidateProfileDTO.LanguageDTO dto = new CandidateProfileDTO.LanguageDTO();
+        dto.setLanguage(language);
+        dto.setLevel(level.find() ? level.group() : MISSING);
+        return dto;
+    }
+
+    /**
+     * Non-blank lines of a section after its heading, plus what follows the colon of an inline heading
+     * ("Skills: Java, SQL").
+     */
+    private static List<String> contentLines(Section section) {
+        List<String> lines = new ArrayList<>();
+        String[] all = section.text().split("\\R");
+        for (int i = 0; i < all.length; i++) {
+            String line = all[i];
+            if (i == 0 && section.heading() != null) {
+                int colon = line.indexOf(':');
+                line = colon >= 0 ? line.substring(colon + 1) : "";
+            }
+            if (!line.isBlank()) {
+                lines.add(line.strip());
+            }
+        }
+        return lines;
+    }
+
+    private static String stripBullet(String text) {
+        String stripped = text.strip();
+        while (!stripped.isEmpty() && "-•*·–".indexOf(stripped.charAt(0)) >= 0) {
+            stripped = stripped.substring(1).strip();
+        }
+        return stripped;
+    }
+
+    /**
+     * Share of the section's lines that were recognised, scaled by {@code ceiling}; 0 when the CV has no such
+     * section (the LLM may still find the data elsewhere).
+     */
+    private static double listConfidence(int[] counts, double ceiling) {
+        return counts[1] == 0 ? 0.0 : ceiling * counts[0] / counts[1];
+    }
+}
@@ -0,0 +1,243 @@
+package org.rocman.candidate.utils;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.tika.Tika;
+import org.apache.tika.io.TikaInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-pass CV ingestion: the upload stream is read exactly once into a temporary file (hashing and
+ * size-checking it on the way), the MIME type is detected from the spooled copy's leading bytes, and
+ * text extraction runs with a character cap, a timeout and a bounded number of concurrent and waiting parses.
+ */
+@Log4j2
+@Component
+public class CVIngestionUtil {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Tika tika = new Tika();
+
+    private final long maxFileSize;
+    private final int maxChars;
+    private final long parseTimeoutMs;
+    private final int queueCapacity;
+    private final int maxAbandoned;
+    private final Semaphore parseSlots;
+    private final AtomicInteger waitingParses = new AtomicInteger();
+    private final AtomicInteger abandonedParses = new AtomicInteger();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    public CVIngestionUtil(@Value("${cv.upload.max-file-size-bytes:10485760}") long maxFileSize,
+                           @Value("${cv.parse.max-chars:100000}") int maxChars,
+                           @Value("${cv.parse.timeout-ms:30000}") long parseTimeoutMs,
+                           @Value("${cv.parse.threads:4}") int parseThreads,
+                           @Value("${cv.parse.queue-capacity:16}") int queueCapacity,
+                           @Value("${cv.parse.max-abandoned:4}") int maxAbandoned) {
+        this.maxFileSize = maxFileSize;
+        this.maxChars = maxChars;
+        this.parseTimeoutMs = parseTimeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxAbandoned = maxAbandoned;
+        this.parseSlots = new Semaphore(parseThreads);
+    }
+
+    public SpooledCV spool(InputStream upload, String originalFilename) throws IOException {
+        Path path = Files.createTempFile("cv-upload-", ".tmp");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+
+            try (InputStream in = new DigestInputStream(upload, digest);
+                 OutputStream out = Files.newOutputStream(path)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxFileSize) {
+                        throw new IllegalArgumentException("File too large. Maximum allowed size is "
+                                + (maxFileSize / (1024 * 1024)) + " MB.");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            if (size == 0) {
+                throw new IllegalArgumentException("Uploaded file is empty.");
+            }
+
+            String mimeType;
+            try (TikaInputStream tis = TikaInputStream.get(path)) {
+                mimeType = tika.detect(tis);
+            }
+
+            log.debug("CV spooled | size={} | mimeType={}", size, mimeType);
+            return new SpooledCV(path, originalFilename, size, HexFormat.of().formatHex(digest.digest()), mimeType);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        } catch (NoSuchAlgorithmException e) {
+            Files.deleteIfExists(path);
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Extracts the text on a fresh thread, at most {@code cv.parse.threads} at a time; callers beyond
+     * {@code cv.parse.queue-capacity} waiting for a slot are rejected at once. Tika parsers ignore interrupts,
+     * so a parse that times out has its input closed and its thread abandoned: it gives its slot to the next
+     * parse and ends on its own. While {@code cv.parse.max-abandoned} of them are still running, new parses
+     * are rejected rather than piling more runaway threads onto the CPU.
+     *
+     * @throws RejectedExecutionException when parsing capacity is exhausted
+     */
+    public String extractText(SpooledCV cv) throws IOException {
+        if (abandonedParses.get() >= maxAbandoned) {
+            throw new RejectedExecutionException("CV parsing unavailable: " + abandonedParses.get()
+                    + " timed-out parses still running");
+        }
+        acquireParseSlot();
+        InputStream in = null;
+        ParseTask task = null;
+        try {
+            in = TikaInputStream.get(cv.getPath());
+            task = new ParseTask(in);
+            Thread thread = new Thread(task, "cv-parse-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+            return task.await(thread, cv);
+        } finally {
+            parseSlots.release();
+            if (task == null || !task.isAbandoned()) {
+                closeQuietly(in);
+            }
+        }
+    }
+
+    private void acquireParseSlot() {
+        if (parseSlots.tryAcquire()) {
+            return;
+        }
+        if (waitingParses.incrementAndGet() > queueCapacity) {
+            waitingParses.decrementAndGet();
+            throw new RejectedExecutionException("CV parsing queue is full");
+        }
+        try {
+            if (!parseSlots.tryAcquire(parseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Timed out waiting for a CV parsing slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("CV parsing interrupted", e);
+        } finally {
+            waitingParses.decrementAndGet();
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in == null) {
+            return;
+        }
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("Closing CV input failed | reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * One parse on its own thread. Whichever of completion and abandonment happens first wins, so an abandoned
+     * parse is counted exactly once and uncounted when its thread finally ends.
+     */
+    private class ParseTask implements Runnable {
+
+        private static final int RUNNING = 0;
+        private static final int DONE = 1;
+        private static final int ABANDONED = 2;
+
+        private final InputStream in;
+        private final FutureTask<String> parsing;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        ParseTask(InputStream in) {
+            this.in = in;
+            this.parsing = new FutureTask<>(() -> CVParserUtil.extractText(in, maxChars));
+        }
+
+        @Override
+        public void run() {
+            try {
+                parsing.run();
+            } finally {
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    abandonedParses.decrementAndGet();
+                    closeQuietly(in);
+                    log.info("Abandoned CV parse finished | thread={}", Thread.currentThread().getName());
+                }
+            }
+        }
+
+        boolean isAbandoned() {
+            return state.get() == ABANDONED;
+        }
+
+        String await(Thread thread, SpooledCV cv) {
+            try {
+                return parsing.get(parseTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (!state.compareAndSet(RUNNING, ABANDONED)) {
+                    // finished between the timeout and now
+                    return result();
+                }
+                abandonedParses.incrementAndGet();
+                thread.interrupt();
+                // stops parsers that are still reading; one spinning on parsed data runs until it ends
+                closeQuietly(in);
+                log.warn("CV parsing timed out, thread abandoned | timeoutMs={} | size={} | mimeType={} | abandoned={}",
+                        parseTimeoutMs, cv.getSize(), cv.getMimeType(), abandonedParses.get());
+                throw new RuntimeException("CV parsing timed out after " + parseTimeoutMs + " ms");
+            } catch (ExecutionException e) {
+                throw failure(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("CV parsing interrupted", e);
+            }
+        }
+
+        private String result() {
+            try {
+                return parsing.get();
+            } catch (ExecutionException e) {
+                throw failure(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("CV parsing interrupted", e);
+            }
+        }
+
+        private RuntimeException failure(ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            return new RuntimeException("Failed to parse CV: " + cause.getMessage(), cause);
+        }
+    }
+}
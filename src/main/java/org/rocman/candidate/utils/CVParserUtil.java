@@ -1,25 +1,47 @@
 package org.rocman.candidate.utils;
 
 import lombok.extern.log4j.Log4j2;
-import org.apache.tika.Tika;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
 
 import java.io.InputStream;
 
 @Log4j2
 public class CVParserUtil {
 
-    private static final Tika tika = new Tika();
+    /**
+     * Same cap {@code Tika.parseToString} applied before parsing was streamed.
+     */
+    public static final int DEFAULT_MAX_CHARS = 100_000;
+
+    private static final Parser parser = new AutoDetectParser();
 
     public static String extractText(InputStream inputStream) {
+        return extractText(inputStream, DEFAULT_MAX_CHARS);
+    }
+
+    /**
+     * Streams the parser's SAX events into a write-limited handler: once {@code maxChars} characters
+     * have been collected parsing stops and the text gathered so far is returned.
+     */
+    public static String extractText(InputStream inputStream, int maxChars) {
+        BodyContentHandler handler = new BodyContentHandler(maxChars);
         try {
             log.debug("Starting Tika parsing...");
-            String result = tika.parseToString(inputStream);
-            log.debug("Tika parsing completed, extracted {} characters", result.length());
-            return result;
+            parser.parse(inputStream, handler, new Metadata(), new ParseContext());
         } catch (Exception e) {
-            log.error("Tika failed to parse document. Error: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to parse CV: " + e.getMessage(), e);
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                log.error("Tika failed to parse document. Error: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to parse CV: " + e.getMessage(), e);
+            }
+            log.warn("Tika output truncated at {} characters", maxChars);
         }
+        String result = handler.toString();
+        log.debug("Tika parsing completed, extracted {} characters", result.length());
+        return result;
     }
 }
-
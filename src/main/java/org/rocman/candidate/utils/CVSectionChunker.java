@@ -0,0 +1,326 @@
+package org.rocman.candidate.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Splits extracted CV text into sections at the usual headings (education, experience, skills, languages and
+ * the miscellaneous ones such as projects or publications, in ro/fr/ru/en) and packs them into chunks that fit
+ * a per-call token budget. Text before the first heading is the header with the name and contact details.
+ * <p>
+ * When the whole CV exceeds {@code maxTotalTokens} the profile sections (header, experience, education, skills,
+ * languages) share the budget first, small sections kept whole and the long ones cut to an even share; the
+ * miscellaneous sections (projects, publications, ...) only get what is left. A section that does not fit one
+ * chunk is split at line boundaries and its heading repeated on each part.
+ */
+public class CVSectionChunker {
+
+    public enum SectionType {
+        HEADER, EXPERIENCE, EDUCATION, SKILLS, LANGUAGES, OTHER
+    }
+
+    private static final int MAX_HEADING_CHARS = 60;
+    private static final int MAX_HEADING_WORDS = 4;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Map<String, SectionType> HEADINGS = headings();
+
+    private final int maxChunkTokens;
+    private final int maxTotalTokens;
+    private final int maxChunks;
+
+    public CVSectionChunker(int maxChunkTokens, int maxTotalTokens, int maxChunks) {
+        if (maxChunkTokens <= 0 || maxTotalTokens <= 0 || maxChunks <= 0) {
+            throw new IllegalArgumentException("Chunk budgets must be positive");
+        }
+        this.maxChunkTokens = maxChunkTokens;
+        this.maxTotalTokens = maxTotalTokens;
+        this.maxChunks = maxChunks;
+    }
+
+    public record Section(SectionType type, String heading, String text) {
+    }
+
+    /**
+     * @param chunks        texts to send, in document order (the header, when present, is in the first one)
+     * @param inputTokens   estimated tokens kept across all chunks
+     * @param droppedTokens estimated tokens cut to stay within the budgets
+     */
+    public record ChunkPlan(List<String> chunks, int inputTokens, int droppedTokens) {
+    }
+
+    /**
+     * Rough token count for the budgets: about four characters per token for Latin text, two for diacritics
+     * and Cyrillic, which tokenizers split into more pieces.
+     */
+    public static int estimateTokens(CharSequence text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return (ascii + 3) / 4 + (other + 1) / 2;
+    }
+
+    public static List<Section> sections(String text) {
+        List<Section> sections = new ArrayList<>();
+        SectionType type = SectionType.HEADER;
+        String heading = null;
+        StringBuilder current = new StringBuilder();
+
+        for (String line : text.split("\\R")) {
+            SectionType headingType = headingType(line);
+            if (headingType != null) {
+                addSection(sections, type, heading, current);
+                type = headingType;
+                heading = line.strip();
+                current = new StringBuilder();
+            }
+            current.append(line).append('\n');
+        }
+        addSection(sections, type, heading, current);
+        return sections;
+    }
+
+    public ChunkPlan chunk(String text) {
+        List<Section> sections = sections(text);
+        int totalTokens = sections.stream().mapToInt(section -> estimateTokens(section.text())).sum();
+
+        int budget = Math.min(maxTotalTokens, maxChunks * maxChunkTokens);
+        String[] kept = new String[sections.size()];
+        budget = allocate(sections, kept, budget, type -> type != SectionType.OTHER);
+        allocate(sections, kept, budget, type -> type == SectionType.OTHER);
+
+        List<String> pieces = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            if (!kept[i].isBlank()) {
+                pieces.addAll(split(sections.get(i).heading(), kept[i]));
+            }
+        }
+
+        List<String> chunks = new ArrayList<>();
+        StringBuilder chunk = new StringBuilder();
+        for (String piece : pieces) {
+            if (!chunk.isEmpty() && estimateTokens(chunk) + estimateTokens(piece) > maxChunkTokens) {
+                chunks.add(chunk.toString());
+                chunk = new StringBuilder();
+            }
+            chunk.append(piece);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk.toString());
+        }
+        if (chunks.size() > maxChunks) {
+            chunks = new ArrayList<>(chunks.subList(0, maxChunks));
+        }
+
+        int inputTokens = chunks.stream().mapToInt(CVSectionChunker::estimateTokens).sum();
+        return new ChunkPlan(chunks, inputTokens, Math.max(0, totalTokens - inputTokens));
+    }
+
+    /**
+     * Shares {@code budget} between the matching sections so that small ones are kept whole and the large ones
+     * split the rest evenly (smallest first, each gets at most an equal share of what is left). Returns the
+     * unused budget.
+     */
+    private static int allocate(List<Section> sections, String[] kept, int budget, Predicate<SectionType> filter) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            if (filter.test(sections.get(i).type())) {
+                indexes.add(i);
+            }
+        }
+        indexes.sort(Comparator.comparingInt(i -> estimateTokens(sections.get(i).text())));
+        for (int n = 0; n < indexes.size(); n++) {
+            String text = sections.get(indexes.get(n)).text();
+            int share = budget / (indexes.size() - n);
+            String granted = estimateTokens(text) <= share ? text : truncate(text, share);
+            kept[indexes.get(n)] = granted;
+            budget -= estimateTokens(granted);
+        }
+        return budget;
+    }
+
+    /**
+     * Parts of a section no larger than one chunk, split at line boundaries; parts after the first start with
+     * the section heading again so the model knows what it is reading.
+     */
+    private List<String> split(String heading, String text) {
+        if (estimateTokens(text) <= maxChunkTokens) {
+            return List.of(text);
+        }
+        String prefix = heading != null ? heading + "\n" : "";
+        int prefixTokens = estimateTokens(prefix);
+
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        for (String line : text.split("\\R")) {
+            for (String piece : splitLine(line + "\n", maxChunkTokens - prefixTokens)) {
+                if (!part.isEmpty() && estimateTokens(part) + estimateTokens(piece) > maxChunkTokens) {
+                    parts.add(part.toString());
+                    part = new StringBuilder(prefix);
+                }
+                part.append(piece);
+            }
+        }
+        if (part.length() > prefix.length() || parts.isEmpty()) {
+            parts.add(part.toString());
+        }
+        return parts;
+    }
+
+    private static List<String> splitLine(String line, int maxTokens) {
+        if (estimateTokens(line) <= maxTokens) {
+            return List.of(line);
+        }
+        List<String> pieces = new ArrayList<>();
+        String rest = line;
+        while (!rest.isEmpty()) {
+            String head = truncate(rest, Math.max(1, maxTokens));
+            if (head.isEmpty()) {
+                head = rest.substring(0, 1);
+            }
+            pieces.add(head);
+            rest = rest.substring(head.length());
+        }
+        return pieces;
+    }
+
+    /**
+     * Longest prefix of {@code text} within {@code maxTokens}, cut at the last whole line when there is one.
+     */
+    private static String truncate(String text, int maxTokens) {
+        if (maxTokens <= 0) {
+            return "";
+        }
+        int ascii = 0;
+        int other = 0;
+        int end = 0;
+        int lastLineEnd = 0;
+        while (end < text.length()) {
+            char c = text.charAt(end);
+            if (c < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+            if ((ascii + 3) / 4 + (other + 1) / 2 > maxTokens) {
+                break;
+            }
+            end++;
+            if (c == '\n') {
+                lastLineEnd = end;
+            }
+        }
+        return text.substring(0, lastLineEnd > 0 ? lastLineEnd : end);
+    }
+
+    private static void addSection(List<Section> sections, SectionType type, String heading, StringBuilder text) {
+        if (!text.toString().isBlank()) {
+            sections.add(new Section(type, heading, text.toString()));
+        }
+    }
+
+    /**
+     * A line is a heading when it is one of the known headings on its own ("Experiență profesională"), or
+     * starts with one and is either written in capitals or ends at a colon ("SKILLS & TOOLS", "Languages:").
+     */
+    static SectionType headingType(String line) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        int colon = trimmed.indexOf(':');
+        String candidate = colon > 0 ? trimmed.substring(0, colon) : trimmed;
+        if (candidate.length() > MAX_HEADING_CHARS) {
+            return null;
+        }
+        String normalized = normalize(candidate);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        SectionType exact = HEADINGS.get(normalized);
+        if (exact != null) {
+            return exact;
+        }
+
+        boolean capitals = candidate.equals(candidate.toUpperCase(Locale.ROOT))
+                && !candidate.equals(candidate.toLowerCase(Locale.ROOT));
+        if (!capitals && colon < 0) {
+            return null;
+        }
+        if (normalized.split(" ").length > MAX_HEADING_WORDS) {
+            return null;
+        }
+        for (Map.Entry<String, SectionType> heading : HEADINGS.entrySet()) {
+            if (normalized.startsWith(heading.getKey() + " ")) {
+                return heading.getValue();
+            }
+        }
+        return null;
+    }
+
+    static String normalize(String text) {
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static Map<String, SectionType> headings() {
+        Map<SectionType, List<String>> keywords = Map.of(
+                SectionType.HEADER, List.of(
+                        "contact", "contacts", "personal information", "personal details", "personal data",
+                        "date personale", "informatii personale", "date de contact",
+                        "informations personnelles", "coordonnees",
+                        "контакты", "контактная информация", "личная информация", "личные данные"),
+                SectionType.EXPERIENCE, List.of(
+                        "experience", "work experience", "professional experience", "employment",
+                        "employment history", "work history", "career history",
+                        "experienta", "experienta profesionala", "experienta de munca", "istoric profesional",
+                        "experience professionnelle", "experiences professionnelles", "parcours professionnel",
+                        "опыт", "опыт работы", "трудовая деятельность", "профессиональный опыт"),
+                SectionType.EDUCATION, List.of(
+                        "education", "academic background", "studies", "education and training",
+                        "educatie", "studii", "educatie si formare", "formare profesionala",
+                        "formation", "formation academique", "etudes", "parcours academique",
+                        "образование", "обучение"),
+                SectionType.SKILLS, List.of(
+                        "skills", "technical skills", "key skills", "core skills", "competencies",
+                        "competente", "abilitati", "aptitudini", "competente tehnice", "competente si abilitati",
+                        "competences", "competences techniques", "savoir faire",
+                        "навыки", "ключевые навыки", "технические навыки", "профессиональные навыки"),
+                SectionType.LANGUAGES, List.of(
+                        "languages", "language skills", "foreign languages",
+                        "limbi", "limbi straine", "limbi cunoscute", "competente lingvistice", "limba materna",
+                        "langues", "competences linguistiques", "langues etrangeres",
+                        "языки", "знание языков", "иностранные языки", "владение языками"),
+                SectionType.OTHER, List.of(
+                        "summary", "profile", "about me", "objective", "projects", "publications",
+                        "certifications", "certificates", "courses", "trainings", "awards", "conferences",
+                        "references", "interests", "hobbies", "volunteering",
+                        "despre mine", "profil", "obiectiv", "proiecte", "publicatii", "certificari", "cursuri",
+                        "premii", "conferinte", "referinte", "interese", "hobby uri", "voluntariat",
+                        "projets", "certificats", "centres d interet", "loisirs", "benevolat",
+                        "о себе", "цель", "проекты", "публикации", "сертификаты", "курсы", "награды",
+                        "конференции", "рекомендации", "интересы", "хобби"));
+
+        // longest first, so "competences linguistiques" wins over "competences" in the prefix match
+        Map<String, SectionType> byKeyword = new LinkedHashMap<>();
+        keywords.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(keyword -> Map.entry(normalize(keyword), entry.getKey())))
+                .sorted(Comparator.comparing((Map.Entry<String, SectionType> entry) -> entry.getKey().length()).reversed())
+                .forEach(entry -> byKeyword.putIfAbsent(entry.getKey(), entry.getValue()));
+        return byKeyword;
+    }
+}
@@ -0,0 +1,114 @@
+package org.rocman.candidate.utils;
+
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO.EducationDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO.ExperienceDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO.LanguageDTO;
+import org.rocman.candidate.dtos.CandidateProfileDTO.SkillDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Merges the partial profiles extracted from the chunks of one CV. Contact fields take the first real value
+ * (chunks are in document order, so the header wins). List entries are de-duplicated: two entries are the same
+ * when they agree on at least one field and do not contradict each other on any other, and the kept entry
+ * gets the fields only the duplicate had ("Java" and "java", or a degree seen once with and once without
+ * its period).
+ */
+public class CandidateProfileMerger {
+
+    public static final String MISSING = "N/A";
+
+    private static final List<Field<EducationDTO>> EDUCATION_FIELDS = List.of(
+            new Field<>(EducationDTO::getLevel, EducationDTO::setLevel),
+            new Field<>(EducationDTO::getInstitution, EducationDTO::setInstitution),
+            new Field<>(EducationDTO::getPeriod, EducationDTO::setPeriod));
+    private static final List<Field<ExperienceDTO>> EXPERIENCE_FIELDS = List.of(
+            new Field<>(ExperienceDTO::getTitle, ExperienceDTO::setTitle),
+            new Field<>(ExperienceDTO::getCompany, ExperienceDTO::setCompany),
+            new Field<>(ExperienceDTO::getPeriod, ExperienceDTO::setPeriod));
+    private static final List<Field<SkillDTO>> SKILL_FIELDS = List.of(
+            new Field<>(SkillDTO::getName, SkillDTO::setName));
+    private static final List<Field<LanguageDTO>> LANGUAGE_FIELDS = List.of(
+            new Field<>(LanguageDTO::getLanguage, LanguageDTO::setLanguage),
+            new Field<>(LanguageDTO::getLevel, LanguageDTO::setLevel));
+
+    private record Field<T>(Function<T, String> getter, BiConsumer<T, String> setter) {
+    }
+
+    public static CandidateProfileDTO merge(List<CandidateProfileDTO> parts) {
+        CandidateProfileDTO merged = new CandidateProfileDTO();
+        merged.setEmail(first(parts, CandidateProfileDTO::getEmail));
+        merged.setPhone(first(parts, CandidateProfileDTO::getPhone));
+        merged.setFirstName(first(parts, CandidateProfileDTO::getFirstName));
+        merged.setLastName(first(parts, CandidateProfileDTO::getLastName));
+        merged.setAddress(first(parts, CandidateProfileDTO::getAddress));
+
+        merged.setEducation(mergeLists(parts, CandidateProfileDTO::getEducation, EDUCATION_FIELDS));
+        merged.setExperience(mergeLists(parts, CandidateProfileDTO::getExperience, EXPERIENCE_FIELDS));
+        merged.setSkills(mergeLists(parts, CandidateProfileDTO::getSkills, SKILL_FIELDS));
+        merged.setLanguages(mergeLists(parts, CandidateProfileDTO::getLanguages, LANGUAGE_FIELDS));
+        return merged;
+    }
+
+    private static String first(List<CandidateProfileDTO> parts, Function<CandidateProfileDTO, String> getter) {
+        for (CandidateProfileDTO part : parts) {
+            String value = getter.apply(part);
+            if (isPresent(value)) {
+                return value.strip();
+            }
+        }
+        return MISSING;
+    }
+
+    private static <T> List<T> mergeLists(List<CandidateProfileDTO> parts,
+                                          Function<CandidateProfileDTO, List<T>> list,
+                                          List<Field<T>> fields) {
+        List<T> merged = new ArrayList<>();
+        for (CandidateProfileDTO part : parts) {
+            List<T> entries = list.apply(part);
+            if (entries == null) {
+                continue;
+            }
+            for (T entry : entries) {
+                if (entry == null || fields.stream().noneMatch(field -> isPresent(field.getter().apply(entry)))) {
+                    continue;
+                }
+                T duplicate = merged.stream().filter(existing -> sameEntry(existing, entry, fields)).findFirst().orElse(null);
+                if (duplicate == null) {
+                    merged.add(entry);
+                } else {
+                    for (Field<T> field : fields) {
+                        String value = field.getter().apply(entry);
+                        if (!isPresent(field.getter().apply(duplicate)) && isPresent(value)) {
+                            field.setter().accept(duplicate, value);
+                        }
+                    }
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static <T> boolean sameEntry(T a, T b, List<Field<T>> fields) {
+        boolean shared = false;
+        for (Field<T> field : fields) {
+            String left = field.getter().apply(a);
+            String right = field.getter().apply(b);
+            if (isPresent(left) && isPresent(right)) {
+                if (!CVSectionChunker.normalize(left).equals(CVSectionChunker.normalize(right))) {
+                    return false;
+                }
+                shared = true;
+            }
+        }
+        return shared;
+    }
+
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank() && !MISSING.equalsIgnoreCase(value.strip());
+    }
+}
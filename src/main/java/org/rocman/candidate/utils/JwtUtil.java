@@ -9,21 +9,34 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final int verifiedCacheMaxEntries;
 
     @Value("${jwt.expiration:3600000}")
     private long jwtExpirationInMs;
 
-    public JwtUtil(@Value("${JWT_SECRET}") String secret) {
+    public JwtUtil(@Value("${JWT_SECRET}") String secret,
+                   @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
         byte[] decodedKey = Base64.getDecoder().decode(secret);
         this.secretKey = Keys.hmacShaKeyFor(decodedKey);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedCacheMaxEntries = verifiedCacheMaxEntries;
     }
 
     public String generateToken(String username) {
@@ -36,51 +49,105 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) secretKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
-    public TokenValidationStatus validateTokenDetailed(String token) {
+    /**
+     * Verifies the token once and returns its status together with the subject. Tokens that verified
+     * successfully are remembered by digest until they expire, so repeated requests with the same token
+     * skip the signature check and claims parsing.
+     */
+    public ParsedToken parseToken(String token) {
         if (token == null || token.trim().isEmpty()) {
             log.warn("[{}] Token validation failed: EMPTY token", MDC.get("reqId"));
-            return TokenValidationStatus.EMPTY;
+            return ParsedToken.failed(TokenValidationStatus.EMPTY);
+        }
+
+        String digest = verifiedCacheMaxEntries > 0 ? digest(token) : null;
+        if (digest != null) {
+            VerifiedToken cached = verifiedTokens.get(digest);
+            if (cached != null) {
+                if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                    return new ParsedToken(TokenValidationStatus.VALID, cached.subject());
+                }
+                verifiedTokens.remove(digest);
+                log.warn("[{}] Token validation failed: EXPIRED token", MDC.get("reqId"));
+                return ParsedToken.failed(TokenValidationStatus.EXPIRED);
+            }
         }
+
         try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            log.info("[{}] Token validated successfully", MDC.get("reqId"));
-            return TokenValidationStatus.VALID;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            log.debug("[{}] Token validated successfully", MDC.get("reqId"));
+            if (digest != null && claims.getExpiration() != null) {
+                remember(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+            }
+            return new ParsedToken(TokenValidationStatus.VALID, claims.getSubject());
         } catch (ExpiredJwtException e) {
             log.warn("[{}] Token validation failed: EXPIRED token", MDC.get("reqId"));
-            return TokenValidationStatus.EXPIRED;
+            return ParsedToken.failed(TokenValidationStatus.EXPIRED);
         } catch (SignatureException e) {
             log.warn("[{}] Token validation failed: INVALID_SIGNATURE", MDC.get("reqId"));
-            return TokenValidationStatus.INVALID_SIGNATURE;
+            return ParsedToken.failed(TokenValidationStatus.INVALID_SIGNATURE);
         } catch (MalformedJwtException e) {
             log.warn("[{}] Token validation failed: MALFORMED token", MDC.get("reqId"));
-            return TokenValidationStatus.MALFORMED;
+            return ParsedToken.failed(TokenValidationStatus.MALFORMED);
         } catch (UnsupportedJwtException e) {
             log.warn("[{}] Token validation failed: UNSUPPORTED token", MDC.get("reqId"));
-            return TokenValidationStatus.UNSUPPORTED;
+            return ParsedToken.failed(TokenValidationStatus.UNSUPPORTED);
         } catch (IllegalArgumentException e) {
             log.warn("[{}] Token validation failed: EMPTY token", MDC.get("reqId"));
-            return TokenValidationStatus.EMPTY;
+            return ParsedToken.failed(TokenValidationStatus.EMPTY);
         } catch (Exception e) {
             log.error("[{}] Token validation failed: UNKNOWN error", MDC.get("reqId"), e);
-            return TokenValidationStatus.UNKNOWN;
+            return ParsedToken.failed(TokenValidationStatus.UNKNOWN);
         }
     }
 
+    public TokenValidationStatus validateTokenDetailed(String token) {
+        return parseToken(token).status();
+    }
+
     public boolean validateToken(String token) {
         return validateTokenDetailed(token) == TokenValidationStatus.VALID;
     }
 
+    private void remember(String digest, VerifiedToken verified) {
+        if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (verifiedTokens.size() >= verifiedCacheMaxEntries) {
+                return;
+            }
+        }
+        verifiedTokens.put(digest, verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record ParsedToken(TokenValidationStatus status, String subject) {
+        static ParsedToken failed(TokenValidationStatus status) {
+            return new ParsedToken(status, null);
+        }
+
+        public boolean isValid() {
+            return status == TokenValidationStatus.VALID;
+        }
+    }
+
+    private record VerifiedToken(String subject, long expiresAtMillis) {
+    }
+
     public enum TokenValidationStatus {
         VALID,
         EXPIRED,
@@ -90,4 +157,4 @@ public class JwtUtil {
         EMPTY,
         UNKNOWN
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package org.rocman.candidate.utils;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap language guess for CV text, limited to the languages our CVs come in (ro, fr, ru, en): Cyrillic
+ * script decides Russian, otherwise stop words and diacritics decide between Romanian, French and English.
+ */
+public class LanguageDetectionUtil {
+
+    public static final String ENGLISH = "en";
+    public static final String ROMANIAN = "ro";
+    public static final String FRENCH = "fr";
+    public static final String RUSSIAN = "ru";
+
+    private static final int SAMPLE_CHARS = 20_000;
+    private static final Pattern WORD = Pattern.compile("\\p{L}+");
+
+    private static final Set<String> ROMANIAN_WORDS = Set.of(
+            "și", "şi", "în", "pentru", "cu", "este", "sau", "care", "din", "experiență", "experienţă",
+            "educație", "limba", "limbi", "competențe", "abilități", "studii", "universitatea", "prezent");
+    private static final Set<String> FRENCH_WORDS = Set.of(
+            "et", "le", "la", "les", "des", "du", "en", "pour", "avec", "est", "une", "expérience",
+            "formation", "compétences", "langues", "université", "présent", "poste");
+    private static final Set<String> ENGLISH_WORDS = Set.of(
+            "and", "the", "of", "for", "with", "is", "to", "in", "experience", "education", "skills",
+            "languages", "university", "present", "responsible");
+
+    public static String detect(String text) {
+        if (text == null || text.isBlank()) {
+            return ENGLISH;
+        }
+        String sample = text.length() > SAMPLE_CHARS ? text.substring(0, SAMPLE_CHARS) : text;
+
+        int cyrillic = 0;
+        int latin = 0;
+        int romanianMarks = 0;
+        int frenchMarks = 0;
+        for (int i = 0; i < sample.length(); i++) {
+            char c = sample.charAt(i);
+            if (Character.UnicodeBlock.of(c) == Character.UnicodeBlock.CYRILLIC) {
+                cyrillic++;
+            } else if (Character.isLetter(c)) {
+                latin++;
+                switch (Character.toLowerCase(c)) {
+                    case 'ă', 'ș', 'ş', 'ț', 'ţ' -> romanianMarks++;
+                    case 'é', 'è', 'ê', 'à', 'ç', 'ù', 'û', 'ô', 'œ' -> frenchMarks++;
+                    default -> {
+                    }
+                }
+            }
+        }
+        if (cyrillic > latin) {
+            return RUSSIAN;
+        }
+
+        int romanian = romanianMarks;
+        int french = frenchMarks;
+        int english = 0;
+        Matcher words = WORD.matcher(sample.toLowerCase(Locale.ROOT));
+        while (words.find()) {
+            String word = words.group();
+            if (ROMANIAN_WORDS.contains(word)) romanian += 2;
+            if (FRENCH_WORDS.contains(word)) french += 2;
+            if (ENGLISH_WORDS.contains(word)) english += 2;
+        }
+
+        if (romanian > english && romanian >= french) {
+            return ROMANIAN;
+        }
+        if (french > english && french > romanian) {
+            return FRENCH;
+        }
+        return ENGLISH;
+    }
+}
@@ -0,0 +1,45 @@
+package org.rocman.candidate.utils;
+
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An uploaded CV copied once to a temporary file, together with what was learned while copying it.
+ * Closing it deletes the temporary file.
+ */
+@Log4j2
+@Getter
+public class SpooledCV implements AutoCloseable {
+
+    private final Path path;
+    private final String originalFilename;
+    private final long size;
+    private final String sha256;
+    private final String mimeType;
+
+    SpooledCV(Path path, String originalFilename, long size, String sha256, String mimeType) {
+        this.path = path;
+        this.originalFilename = originalFilename;
+        this.size = size;
+        this.sha256 = sha256;
+        this.mimeType = mimeType;
+    }
+
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled CV | path={} | reason={}", path, e.getMessage());
+        }
+    }
+}
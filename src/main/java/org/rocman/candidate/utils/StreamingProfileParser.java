@@ -0,0 +1,338 @@
+package org.rocman.candidate.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.log4j.Log4j2;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Incremental parser for the LLM's candidate profile JSON, fed content as it streams in. Text before the first
+ * '{' (prose, a Markdown fence) is skipped and everything after the closing brace ignored. Each top-level
+ * field is validated against the {@link CandidateProfileDTO} schema as soon as its value is complete: a field of
+ * the wrong shape, or a list entry that is not an object, is dropped and counted instead of failing the whole
+ * profile, and a response cut off mid-way keeps the fields completed so far.
+ * <p>
+ * When the streamed JSON turns out to be malformed, {@link #finish()} re-parses the full text from each '{' in
+ * turn. Not thread-safe: one instance per response.
+ */
+@Log4j2
+public class StreamingProfileParser {
+
+    private static final String MISSING = CandidateProfileMerger.MISSING;
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private enum State {
+        SEEKING, PARSING, DONE, FAILED
+    }
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final StringBuilder content = new StringBuilder();
+    private final CandidateProfileDTO profile = new CandidateProfileDTO();
+
+    private State state = State.SEEKING;
+    private int depth;
+    private String field;
+    private TokenBuffer value;
+    private int completedFields;
+    private int invalidFields;
+    private boolean recovered;
+
+    public StreamingProfileParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create non-blocking JSON parser", e);
+        }
+    }
+
+    /**
+     * Parses one piece of the response. Never throws: malformed JSON switches to the recovery in {@link #finish()}.
+     */
+    public void feed(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return;
+        }
+        int offset = content.length();
+        content.append(chunk);
+        if (state == State.SEEKING) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return;
+            }
+            recovered = offset + start > 0 && !content.substring(0, offset + start).isBlank();
+            chunk = chunk.substring(start);
+            state = State.PARSING;
+        }
+        if (state != State.PARSING) {
+            return;
+        }
+
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        try {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while (state == State.PARSING && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (IOException e) {
+            log.debug("Streamed LLM JSON is malformed, will recover from the full text | reason={}", e.getMessage());
+            state = State.FAILED;
+        }
+    }
+
+    /**
+     * Top-level fields validated so far.
+     */
+    public int completedFields() {
+        return completedFields;
+    }
+
+    /**
+     * Fields and list entries dropped because they did not match the schema.
+     */
+    public int invalidFields() {
+        return invalidFields;
+    }
+
+    /**
+     * Whether the JSON had to be dug out of surrounding text or re-parsed after a malformed stream.
+     */
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Whether the profile object was closed; {@code false} after {@link #finish()} means the response was cut
+     * off and only the completed fields were kept.
+     */
+    public boolean isComplete() {
+        return state == State.DONE;
+    }
+
+    /**
+     * The validated profile, missing fields set to "N/A" or an empty list.
+     *
+     * @throws IllegalStateException when the response contains no usable profile object at all
+     */
+    public CandidateProfileDTO finish() {
+        if (state == State.FAILED) {
+            recoverFromText();
+        }
+        if (completedFields == 0 && state != State.DONE) {
+            throw new IllegalStateException("LLM returned content that is not a candidate profile");
+        }
+        if (state != State.DONE) {
+            log.warn("LLM response broke off inside the profile JSON, keeping completed fields | fields={}", completedFields);
+        }
+
+        profile.setEmail(Objects.requireNonNullElse(profile.getEmail(), MISSING));
+        profile.setPhone(Objects.requireNonNullElse(profile.getPhone(), MISSING));
+        profile.setFirstName(Objects.requireNonNullElse(profile.getFirstName(), MISSING));
+        profile.setLastName(Objects.requireNonNullElse(profile.getLastName(), MISSING));
+        profile.setAddress(Objects.requireNonNullElse(profile.getAddress(), MISSING));
+        profile.setEducation(Objects.requireNonNullElseGet(profile.getEducation(), ArrayList::new));
+        profile.setExperience(Objects.requireNonNullElseGet(profile.getExperience(), ArrayList::new));
+        profile.setSkills(Objects.requireNonNullElseGet(profile.getSkills(), ArrayList::new));
+        profile.setLanguages(Objects.requireNonNullElseGet(profile.getLanguages(), ArrayList::new));
+        return profile;
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+        if (depth == 0) {
+            if (token != JsonToken.START_OBJECT) {
+                state = State.FAILED;
+                return;
+            }
+            depth = 1;
+            return;
+        }
+        if (value == null) {
+            if (token == JsonToken.FIELD_NAME) {
+                field = parser.currentName();
+                value = new TokenBuffer(parser);
+            } else if (token == JsonToken.END_OBJECT) {
+                state = State.DONE;
+            }
+            return;
+        }
+
+        value.copyCurrentEvent(parser);
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        if (depth == 1) {
+            JsonNode node = objectMapper.readTree(value.asParser(objectMapper));
+            value = null;
+            apply(field, node);
+        }
+    }
+
+    /**
+     * Re-parses the whole response starting at each '{' in turn and keeps the first object that has at least
+     * one profile field, replacing whatever was streamed before the JSON broke.
+     */
+    private void recoverFromText() {
+        for (int start = content.indexOf("{"); start >= 0; start = content.indexOf("{", start + 1)) {
+            JsonNode node;
+            try (JsonParser textParser = objectMapper.getFactory().createParser(content.substring(start))) {
+                node = objectMapper.readTree(textParser);
+            } catch (IOException e) {
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                continue;
+            }
+            CandidateProfileDTO before = new CandidateProfileDTO();
+            copy(profile, before);
+            int completedBefore = completedFields;
+            int invalidBefore = invalidFields;
+            copy(new CandidateProfileDTO(), profile);
+            completedFields = 0;
+            invalidFields = 0;
+            for (Map.Entry<String, JsonNode> entry : node.properties()) {
+                apply(entry.getKey(), entry.getValue());
+            }
+            if (completedFields > 0) {
+                recovered = true;
+                state = State.DONE;
+                return;
+            }
+            copy(before, profile);
+            completedFields = completedBefore;
+            invalidFields = invalidBefore;
+        }
+    }
+
+    private void apply(String name, JsonNode node) {
+        switch (name) {
+            case "email" -> {
+                String email = text(node);
+                profile.setEmail(email != null && (MISSING.equals(email) || EMAIL.matcher(email).matches()) ? email : invalid(name));
+            }
+            case "phone" -> profile.setPhone(orInvalid(name, text(node)));
+            case "firstName" -> profile.setFirstName(orInvalid(name, text(node)));
+            case "lastName" -> profile.setLastName(orInvalid(name, text(node)));
+            case "address" -> profile.setAddress(orInvalid(name, text(node)));
+            case "education" -> profile.setEducation(list(name, node, item -> {
+                CandidateProfileDTO.EducationDTO dto = new CandidateProfileDTO.EducationDTO();
+                dto.setLevel(text(item.get("level")));
+                dto.setInstitution(text(item.get("institution")));
+                dto.setPeriod(text(item.get("period")));
+                return isEmpty(dto.getLevel(), dto.getInstitution(), dto.getPeriod()) ? null : dto;
+            }));
+            case "experience" -> profile.setExperience(list(name, node, item -> {
+                CandidateProfileDTO.ExperienceDTO dto = new CandidateProfileDTO.ExperienceDTO();
+                dto.setTitle(text(item.get("title")));
+                dto.setCompany(text(item.get("company")));
+                dto.setPeriod(text(item.get("period")));
+                return isEmpty(dto.getTitle(), dto.getCompany(), dto.getPeriod()) ? null : dto;
+            }));
+            case "skills" -> profile.setSkills(list(name, node, item -> {
+                CandidateProfileDTO.SkillDTO dto = new CandidateProfileDTO.SkillDTO();
+                dto.setName(text(item.get("name")));
+                return isEmpty(dto.getName()) ? null : dto;
+            }));
+            case "languages" -> profile.setLanguages(list(name, node, item -> {
+                CandidateProfileDTO.LanguageDTO dto = new CandidateProfileDTO.LanguageDTO();
+                dto.setLanguage(text(item.get("language")));
+                dto.setLevel(text(item.get("level")));
+                return isEmpty(dto.getLanguage()) ? null : dto;
+            }));
+            default -> {
+                // not part of the profile schema
+                return;
+            }
+        }
+        completedFields++;
+    }
+
+    /**
+     * Entries that are objects are mapped by {@code mapper} (which returns {@code null} for an empty one); a
+     * bare string in the skills list is taken as the skill name.
+     */
+    private <T> List<T> list(String name, JsonNode node, Function<JsonNode, T> mapper) {
+        List<T> list = new ArrayList<>();
+        if (node == null || node.isNull()) {
+            return list;
+        }
+        if (!node.isArray()) {
+            invalid(name);
+            return list;
+        }
+        for (JsonNode item : node) {
+            if (item.isTextual() && "skills".equals(name)) {
+                item = objectMapper.createObjectNode().put("name", item.asText());
+            }
+            T entry = item.isObject() ? mapper.apply(item) : null;
+            if (entry != null) {
+                list.add(entry);
+            } else if (!item.isObject()) {
+                invalid(name + "[]");
+            }
+        }
+        return list;
+    }
+
+    /**
+     * The value as text: strings stripped (blank means "N/A"), numbers and booleans as written, null or absent
+     * as "N/A"; objects and arrays return {@code null}.
+     */
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return MISSING;
+        }
+        if (node.isValueNode()) {
+            String text = node.asText().strip();
+            return text.isEmpty() ? MISSING : text;
+        }
+        return null;
+    }
+
+    private String orInvalid(String name, String text) {
+        return text != null ? text : invalid(name);
+    }
+
+    private String invalid(String name) {
+        invalidFields++;
+        log.debug("Dropping LLM field that does not match the profile schema | field={}", name);
+        return MISSING;
+    }
+
+    private static boolean isEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !MISSING.equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copy(CandidateProfileDTO from, CandidateProfileDTO to) {
+        to.setEmail(from.getEmail());
+        to.setPhone(from.getPhone());
+        to.setFirstName(from.getFirstName());
+        to.setLastName(from.getLastName());
+        to.setAddress(from.getAddress());
+        to.setEducation(from.getEducation());
+        to.setExperience(from.getExperience());
+        to.setSkills(from.getSkills());
+        to.setLanguages(from.getLanguages());
+    }
+}
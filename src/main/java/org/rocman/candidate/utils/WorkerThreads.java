@@ -0,0 +1,50 @@
+package org.rocman.candidate.utils;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the worker pools that mostly wait on I/O (LLM calls, JDBC, storage). With
+ * {@code spring.threads.virtual.enabled=true} on Java 21+ they create virtual threads, the same switch that
+ * moves Tomcat requests and {@code @Scheduled} jobs onto virtual threads; otherwise platform daemon threads.
+ * Pool sizes keep bounding concurrency either way. CPU-bound pools (Tika parsing, BCrypt) stay on platform
+ * threads.
+ */
+@Log4j2
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        if (virtual) {
+            log.info("Worker pools use virtual threads | javaVersion={}", Runtime.version().feature());
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads requested but not available, using platform threads | javaVersion={}",
+                    Runtime.version().feature());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory factory(String namePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
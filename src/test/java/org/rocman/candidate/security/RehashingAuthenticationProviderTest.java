@@ -0,0 +1,76 @@
+package org.rocman.candidate.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RehashingAuthenticationProviderTest {
+
+	private static final CandidatePrincipal JANE =
+			new CandidatePrincipal(1L, "jane@example.com", "old-hash", true, false);
+
+	/**
+	 * Accepts "secret" against any hash and wants every hash upgraded; when saturated, rehashing "secret" fails
+	 * (the provider's one-off dummy hash for timing-attack protection still works).
+	 */
+	private static PasswordEncoder encoder(boolean saturated) {
+		return new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				if (saturated && "secret".contentEquals(rawPassword)) {
+					throw new TaskRejectedException("Password hashing capacity exhausted");
+				}
+				return "new-hash";
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return "secret".contentEquals(rawPassword);
+			}
+
+			@Override
+			public boolean upgradeEncoding(String encodedPassword) {
+				return true;
+			}
+		};
+	}
+
+	private static Authentication login(PasswordEncoder encoder, UserDetailsPasswordService passwordService) {
+		RehashingAuthenticationProvider provider =
+				new RehashingAuthenticationProvider(username -> JANE, passwordService, encoder);
+		return provider.authenticate(new UsernamePasswordAuthenticationToken("jane@example.com", "secret"));
+	}
+
+	@Test
+	void storesUpgradedHash() {
+		AtomicReference<String> stored = new AtomicReference<>();
+		Authentication authentication = login(encoder(false), (user, newPassword) -> {
+			stored.set(newPassword);
+			return user;
+		});
+
+		assertTrue(authentication.isAuthenticated());
+		assertEquals("new-hash", stored.get());
+	}
+
+	@Test
+	void loginSucceedsWhenRehashIsRejected() {
+		AtomicReference<String> stored = new AtomicReference<>();
+		Authentication authentication = login(encoder(true), (user, newPassword) -> {
+			stored.set(newPassword);
+			return user;
+		});
+
+		assertTrue(authentication.isAuthenticated());
+		assertNull(stored.get());
+	}
+}
@@ -0,0 +1,56 @@
+package org.rocman.candidate.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketStoreTest {
+
+	private static final TokenBucketStore.Limit THREE_PER_HOUR = TokenBucketStore.Limit.parse("3/1h");
+
+	@Test
+	void allowsBurstUpToCapacityThenRejects() {
+		TokenBucketStore store = new TokenBucketStore(4, 100);
+		long now = 0;
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, store.tryAcquire("a@example.com", THREE_PER_HOUR, now));
+		}
+		long wait = store.tryAcquire("a@example.com", THREE_PER_HOUR, now);
+		assertEquals(TimeUnit.MINUTES.toNanos(20), wait);
+		assertEquals(0, store.tryAcquire("b@example.com", THREE_PER_HOUR, now));
+	}
+
+	@Test
+	void refillsOneTokenPerInterval() {
+		TokenBucketStore store = new TokenBucketStore(4, 100);
+		for (int i = 0; i < 3; i++) {
+			store.tryAcquire("ip", THREE_PER_HOUR, 0);
+		}
+
+		long twentyMinutes = TimeUnit.MINUTES.toNanos(20);
+		assertEquals(0, store.tryAcquire("ip", THREE_PER_HOUR, twentyMinutes));
+		assertTrue(store.tryAcquire("ip", THREE_PER_HOUR, twentyMinutes) > 0);
+	}
+
+	@Test
+	void evictsIdleBucketsWhenFull() {
+		TokenBucketStore store = new TokenBucketStore(1, 10);
+		for (int i = 0; i < 10; i++) {
+			store.tryAcquire("key-" + i, THREE_PER_HOUR, 0);
+		}
+
+		store.tryAcquire("late", THREE_PER_HOUR, TimeUnit.HOURS.toNanos(2));
+		assertEquals(1, store.size());
+	}
+
+	@Test
+	void parsesSimpleAndIsoPeriods() {
+		assertEquals(Duration.ofMinutes(15), TokenBucketStore.Limit.parse("5/15m").period());
+		assertEquals(Duration.ofMinutes(1), TokenBucketStore.Limit.parse("20/PT1M").period());
+	}
+}
@@ -0,0 +1,64 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rocman.candidate.entities.LlmExtractionCacheEntry;
+import org.rocman.candidate.repositories.LlmExtractionCacheRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CVExtractionCacheTest {
+
+	private final Map<String, LlmExtractionCacheEntry> rows = new HashMap<>();
+	private final LlmExtractionCacheRepository repository = mock(LlmExtractionCacheRepository.class);
+	// a memory tier of zero entries sends every get() to the database tier
+	private final CVExtractionCache cache = new CVExtractionCache(repository, mock(PlatformTransactionManager.class),
+			new SimpleMeterRegistry(), 0, 60, 30, 1000, 0);
+
+	CVExtractionCacheTest() {
+		// stores the entity as given, like a merge of a detached entity: @PrePersist does not run
+		when(repository.save(any(LlmExtractionCacheEntry.class))).thenAnswer(invocation -> {
+			LlmExtractionCacheEntry entry = invocation.getArgument(0);
+			rows.put(entry.getCacheKey(), entry);
+			return entry;
+		});
+		when(repository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(0))));
+	}
+
+	@Test
+	void putOverAnExistingKeyKeepsItReadable() {
+		cache.put("key", "model", "v1", "{\"first\":true}");
+		cache.put("key", "model", "v1", "{\"second\":true}");
+
+		assertNotNull(rows.get("key").getCreatedAt());
+		assertEquals(Optional.of("{\"second\":true}"), cache.get("key"));
+	}
+
+	@Test
+	void rowsWithoutCreationTimeAndExpiredRowsAreMisses() {
+		LlmExtractionCacheEntry broken = new LlmExtractionCacheEntry();
+		broken.setCacheKey("broken");
+		broken.setPayload("{}");
+		rows.put("broken", broken);
+
+		LlmExtractionCacheEntry expired = new LlmExtractionCacheEntry();
+		expired.setCacheKey("expired");
+		expired.setPayload("{}");
+		expired.setCreatedAt(LocalDateTime.now().minusDays(31));
+		rows.put("expired", expired);
+
+		assertEquals(Optional.empty(), cache.get("broken"));
+		assertEquals(Optional.empty(), cache.get("expired"));
+	}
+}
@@ -0,0 +1,86 @@
+package org.rocman.candidate.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rocman.candidate.repositories.CandidateRepository;
+import org.rocman.candidate.repositories.CandidateSearchDocumentView;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CVSearchIndexTest {
+
+	private static final long ENGLISH_CV = 1L;
+	private static final long ROMANIAN_CV = 2L;
+	private static final long FRENCH_CV = 3L;
+
+	@TempDir
+	Path indexDir;
+
+	private CVSearchIndex index;
+
+	private record Document(Long getId, String getCvText) implements CandidateSearchDocumentView {
+	}
+
+	@BeforeEach
+	void buildIndex() throws Exception {
+		CandidateRepository candidateRepository = mock(CandidateRepository.class);
+		when(candidateRepository.findSearchDocumentsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+				new Document(ENGLISH_CV, "Experience: Java developer responsible for the payment services and the team."),
+				new Document(ROMANIAN_CV, "Experiență: dezvoltator de aplicații web în Java și Kotlin pentru bănci."),
+				new Document(FRENCH_CV, "Expérience : développeur Python pour les services de la banque et une équipe.")));
+
+		// refresh and commit run from rebuild() itself, so the background schedule is pushed out of the test
+		index = new CVSearchIndex(candidateRepository, indexDir.toString(), 60_000, 3_600, 10, 100_000);
+		index.rebuild();
+	}
+
+	@AfterEach
+	void closeIndex() throws Exception {
+		index.shutdown();
+	}
+
+	@Test
+	void findsCvsInEveryLanguageField() throws Exception {
+		CVSearchIndex.SearchPage page = index.search("java", 0, 10);
+
+		assertEquals(2, page.total());
+		assertEquals(List.of(ENGLISH_CV, ROMANIAN_CV), page.hits().stream().map(CVSearchIndex.Hit::candidateId).sorted().toList());
+	}
+
+	@Test
+	void stemsAndFoldsDiacritics() throws Exception {
+		assertEquals(ENGLISH_CV, index.search("services developers", 0, 10).hits().get(0).candidateId());
+		assertEquals(ROMANIAN_CV, index.search("aplicatii", 0, 10).hits().get(0).candidateId());
+		assertEquals(FRENCH_CV, index.search("developpeur", 0, 10).hits().get(0).candidateId());
+	}
+
+	@Test
+	void highlightsMatchesInTheCvLanguage() throws Exception {
+		CVSearchIndex.Hit hit = index.search("python", 0, 10).hits().get(0);
+
+		assertEquals(FRENCH_CV, hit.candidateId());
+		assertTrue(hit.highlight().contains("<b>Python</b>"), hit.highlight());
+	}
+
+	@Test
+	void pagesAndLimitsTheResultWindow() throws Exception {
+		CVSearchIndex.SearchPage second = index.search("java", 1, 1);
+		assertEquals(2, second.total());
+		assertEquals(1, second.hits().size());
+
+		assertEquals(0, index.search("java", 2, 1).hits().size());
+		assertThrows(IllegalArgumentException.class, () -> index.search("java", 2, 5));
+	}
+}
@@ -0,0 +1,61 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CandidateProfileCacheTest {
+
+	private static final PlatformTransactionManager NO_TRANSACTIONS = new PlatformTransactionManager() {
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	};
+
+	@Test
+	void servesCachedProfileUntilEvicted() {
+		CandidateProfileCache cache = new CandidateProfileCache(NO_TRANSACTIONS, new SimpleMeterRegistry(), 300, 100);
+		AtomicInteger loads = new AtomicInteger();
+
+		CandidateProfileDTO first = cache.get(1L, id -> { loads.incrementAndGet(); return new CandidateProfileDTO(); });
+		assertSame(first, cache.get(1L, id -> { loads.incrementAndGet(); return new CandidateProfileDTO(); }));
+		assertEquals(1, loads.get());
+
+		cache.onProfileUpdated(new CandidateProfileUpdatedEvent(1L));
+		cache.get(1L, id -> { loads.incrementAndGet(); return new CandidateProfileDTO(); });
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void doesNotCacheProfileLoadedWhileItWasEvicted() {
+		CandidateProfileCache cache = new CandidateProfileCache(NO_TRANSACTIONS, new SimpleMeterRegistry(), 300, 100);
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(1L, id -> {
+			loads.incrementAndGet();
+			// the update commits while the old row is being mapped
+			cache.evict(1L);
+			return new CandidateProfileDTO();
+		});
+		cache.get(1L, id -> { loads.incrementAndGet(); return new CandidateProfileDTO(); });
+		assertEquals(2, loads.get());
+	}
+}
@@ -0,0 +1,85 @@
+package org.rocman.candidate.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.rocman.candidate.dtos.CandidatePageDTO;
+import org.rocman.candidate.repositories.CandidateRepository;
+import org.rocman.candidate.repositories.CandidateSummaryView;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CandidateSearchServiceTest {
+
+	private static final CandidateSearchService.CandidateFilter NO_FILTER =
+			new CandidateSearchService.CandidateFilter(null, null, null, null);
+
+	private final CandidateRepository candidateRepository = mock(CandidateRepository.class);
+	private final CandidateSearchService service =
+			new CandidateSearchService(null, null, null, candidateRepository, new ObjectMapper(), 100);
+
+	private record Summary(Long getId, String getFirstName, String getLastName, String getEmail, boolean isEnabled)
+			implements CandidateSummaryView {
+	}
+
+	private void rowsAfter(long after, long... ids) {
+		List<CandidateSummaryView> rows = LongStream.of(ids)
+				.<CandidateSummaryView>mapToObj(id -> new Summary(id, "Jane", "Doe", id + "@example.com", true))
+				.toList();
+		when(candidateRepository.findSummariesAfter(eq(after), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+				.thenReturn(rows);
+	}
+
+	@Test
+	void pagesByLastIdUntilTheLastPage() {
+		// the repository is asked for one row past the page
+		rowsAfter(0, 3, 5, 8);
+		rowsAfter(5, 8);
+
+		CandidatePageDTO first = service.listCandidates(NO_FILTER, null, 2);
+		assertEquals(List.of(3L, 5L), first.getCandidates().stream().map(c -> c.getId()).toList());
+		assertEquals(5L, first.getNextAfter());
+
+		CandidatePageDTO last = service.listCandidates(NO_FILTER, first.getNextAfter(), 2);
+		assertEquals(List.of(8L), last.getCandidates().stream().map(c -> c.getId()).toList());
+		assertNull(last.getNextAfter());
+	}
+
+	@Test
+	void fullLastPageHasNoCursor() {
+		rowsAfter(0, 3, 5);
+
+		CandidatePageDTO page = service.listCandidates(NO_FILTER, null, 2);
+		assertEquals(2, page.getCandidates().size());
+		assertNull(page.getNextAfter());
+	}
+
+	@Test
+	void csvQuotesSeparatorsAndQuotes() {
+		assertEquals("Doe", CandidateSearchService.csv("Doe"));
+		assertEquals("", CandidateSearchService.csv(null));
+		assertEquals("\"Doe, Jane\"", CandidateSearchService.csv("Doe, Jane"));
+		assertEquals("\"say \"\"hi\"\"\"", CandidateSearchService.csv("say \"hi\""));
+		assertEquals("\"two\nlines\"", CandidateSearchService.csv("two\nlines"));
+	}
+
+	@Test
+	void csvNeutralizesFormulas() {
+		assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", CandidateSearchService.csv("=HYPERLINK(\"x\")"));
+		assertEquals("'+40", CandidateSearchService.csv("+40"));
+		assertEquals("'-1", CandidateSearchService.csv("-1"));
+		assertEquals("'@SUM(A1)", CandidateSearchService.csv("@SUM(A1)"));
+		assertEquals("'\tcmd", CandidateSearchService.csv("\tcmd"));
+		assertEquals("\"'\rcmd\"", CandidateSearchService.csv("\rcmd"));
+		assertEquals("'=1+1", CandidateSearchService.csv("=1+1"));
+	}
+}
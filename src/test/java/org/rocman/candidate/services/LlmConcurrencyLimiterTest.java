@@ -0,0 +1,54 @@
+package org.rocman.candidate.services;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LlmConcurrencyLimiterTest {
+
+	@Test
+	void queuedCallStartsWhenRunningCallCompletes() {
+		LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofSeconds(5));
+		Sinks.One<String> first = Sinks.one();
+		AtomicInteger secondStarted = new AtomicInteger();
+
+		limiter.limit(first.asMono()).subscribe();
+		limiter.limit(Mono.fromCallable(secondStarted::incrementAndGet)).subscribe();
+		assertEquals(1, limiter.inFlight());
+		assertEquals(1, limiter.queued());
+		assertEquals(0, secondStarted.get());
+
+		first.tryEmitValue("done");
+		assertEquals(1, secondStarted.get());
+		assertEquals(0, limiter.inFlight());
+	}
+
+	@Test
+	void rejectsWhenQueueIsFull() {
+		LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 1, Duration.ofSeconds(5));
+		limiter.limit(Mono.never()).subscribe();
+		limiter.limit(Mono.never()).subscribe();
+
+		assertThrows(RejectedExecutionException.class, () -> limiter.limit(Mono.just("x")).block());
+	}
+
+	@Test
+	void cancellingRunningCallReleasesItsPermit() {
+		LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofSeconds(5));
+		Disposable running = limiter.limit(Mono.never()).subscribe();
+		Disposable waiting = limiter.limit(Mono.never()).subscribe();
+		waiting.dispose();
+		running.dispose();
+
+		assertEquals(0, limiter.queued());
+		assertEquals("ok", limiter.limit(Mono.just("ok")).block(Duration.ofSeconds(1)));
+	}
+}
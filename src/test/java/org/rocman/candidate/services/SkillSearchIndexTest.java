@@ -0,0 +1,55 @@
+package org.rocman.candidate.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SkillSearchIndexTest {
+
+	private static final long JAVA = 1L;
+	private static final long SQL = 2L;
+	private static final long DOCKER = 3L;
+
+	private SkillSearchIndex index() {
+		SkillSearchIndex index = new SkillSearchIndex(null, null, new SimpleMeterRegistry(), 100);
+		index.index(10, List.of(JAVA, SQL));
+		index.index(11, List.of(JAVA));
+		index.index(12, List.of(SQL, DOCKER));
+		return index;
+	}
+
+	@Test
+	void andMatchesCandidatesWithEverySkill() {
+		assertArrayEquals(new int[]{10}, index().search(List.of(JAVA, SQL), true).toArray());
+	}
+
+	@Test
+	void orMatchesCandidatesWithAnySkill() {
+		assertArrayEquals(new int[]{10, 11, 12}, index().search(List.of(JAVA, DOCKER), false).toArray());
+	}
+
+	@Test
+	void andWithUnindexedSkillMatchesNothing() {
+		assertEquals(0, index().search(List.of(JAVA, 99L), true).getCardinality());
+	}
+
+	@Test
+	void reindexingReplacesPreviousSkills() {
+		SkillSearchIndex index = index();
+		index.index(10, List.of(DOCKER));
+
+		assertArrayEquals(new int[]{11}, index.search(List.of(JAVA), true).toArray());
+		assertArrayEquals(new int[]{10, 12}, index.search(List.of(DOCKER), true).toArray());
+	}
+
+	@Test
+	void normalizeCollapsesCaseAndWhitespace() {
+		assertEquals("java script", SkillDictionaryService.normalize("  Java \t Script "));
+		assertNull(SkillDictionaryService.normalize("   "));
+	}
+}
@@ -0,0 +1,69 @@
+package org.rocman.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CVDataExtractorTest {
+
+	private static final String STRUCTURED_CV = """
+			Ion Popescu
+			ion.popescu@example.com | Tel: +373 69 123 456
+			Adresa: str. Ștefan cel Mare 1, Chișinău
+			Experiență profesională
+			Java Developer, Endava, 2019 - prezent
+			Junior Developer, Pentalog, 2017 - 2019
+			Educație
+			Licență în informatică, UTM, 2013 - 2017
+			Competențe: Java, Spring Boot, PostgreSQL
+			Limbi străine
+			Engleză - B2, Rusă - C1
+			""";
+
+	@Test
+	void structuredCvIsCoveredWithoutLlm() {
+		CVDataExtractor.LocalExtraction local = CVDataExtractor.extract(STRUCTURED_CV);
+
+		assertTrue(local.coversCore(0.8));
+		assertEquals("ion.popescu@example.com", local.profile().getEmail());
+		assertEquals("+373 69 123 456", local.profile().getPhone());
+		assertEquals("Ion", local.profile().getFirstName());
+		assertEquals("Popescu", local.profile().getLastName());
+		assertEquals(2, local.profile().getExperience().size());
+		assertEquals("UTM", local.profile().getEducation().get(0).getInstitution());
+		assertEquals(3, local.profile().getSkills().size());
+		assertEquals("B2", local.profile().getLanguages().get(0).getLevel());
+	}
+
+	@Test
+	void proseSectionsAreLeftForLlm() {
+		String cv = STRUCTURED_CV.replace("Junior Developer, Pentalog, 2017 - 2019",
+				"Built and maintained payment services for several banking clients across Europe");
+
+		CVDataExtractor.LocalExtraction local = CVDataExtractor.extract(cv);
+		String remaining = local.remainingText(0.8);
+
+		assertFalse(local.isConfident(CVDataExtractor.Field.EXPERIENCE, 0.8));
+		assertTrue(remaining.contains("payment services"));
+		assertFalse(remaining.contains("PostgreSQL"));
+		assertFalse(remaining.contains("ion.popescu@example.com"));
+		assertTrue(local.confidentProfile(0.8).getExperience().isEmpty());
+	}
+
+	@Test
+	void headerIsLeftForLlmWhileContactFieldsAreMissing() {
+		String cv = STRUCTURED_CV.replace("ion.popescu@example.com | Tel: +373 69 123 456", "ion.popescu@example.com 069123456")
+				.replace("Adresa: str. Ștefan cel Mare 1, Chișinău", "str. Ștefan cel Mare 1");
+
+		CVDataExtractor.LocalExtraction local = CVDataExtractor.extract(cv);
+		String remaining = local.remainingText(0.8);
+
+		assertTrue(local.isConfident(CVDataExtractor.Field.EMAIL, 0.8));
+		assertTrue(local.isConfident(CVDataExtractor.Field.FIRST_NAME, 0.8));
+		assertTrue(remaining.contains("069123456"));
+		assertTrue(remaining.contains("Ștefan cel Mare"));
+		assertFalse(remaining.contains("PostgreSQL"));
+	}
+}
@@ -0,0 +1,85 @@
+package org.rocman.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CVSectionChunkerTest {
+
+	private static final String CV = """
+			Ion Popescu
+			ion@example.com
+			Experiență profesională
+			Java Developer, Endava, 2019 - prezent
+			EDUCATION & TRAINING
+			UTM, Licență, 2015 - 2019
+			Skills: Java, SQL
+			Limbi străine
+			Engleză - B2
+			Publications
+			""";
+
+	@Test
+	void sectionsFollowMultilingualHeadings() {
+		List<CVSectionChunker.SectionType> types = CVSectionChunker.sections(CV).stream()
+				.map(CVSectionChunker.Section::type)
+				.toList();
+
+		assertEquals(List.of(
+				CVSectionChunker.SectionType.HEADER,
+				CVSectionChunker.SectionType.EXPERIENCE,
+				CVSectionChunker.SectionType.EDUCATION,
+				CVSectionChunker.SectionType.SKILLS,
+				CVSectionChunker.SectionType.LANGUAGES,
+				CVSectionChunker.SectionType.OTHER), types);
+	}
+
+	@Test
+	void chunksStayWithinBudgetsAndCutLowestPriorityFirst() {
+		String publications = "Some paper title, Some journal, 2020\n".repeat(400);
+		String cv = CV + publications;
+
+		CVSectionChunker.ChunkPlan plan = new CVSectionChunker(500, 1200, 5).chunk(cv);
+
+		assertTrue(plan.chunks().size() <= 5);
+		assertTrue(plan.inputTokens() <= 1200);
+		assertTrue(plan.droppedTokens() > 0);
+		assertTrue(plan.chunks().get(0).startsWith("Ion Popescu"));
+		assertTrue(plan.chunks().stream().anyMatch(chunk -> chunk.contains("Engleză - B2")));
+		plan.chunks().forEach(chunk -> assertTrue(CVSectionChunker.estimateTokens(chunk) <= 500));
+	}
+
+	@Test
+	void mergeKeepsFirstContactDetailsAndDeduplicatesEntries() {
+		CandidateProfileDTO header = profile("Ion", "ion@example.com", "Java", "Engleză", "N/A");
+		CandidateProfileDTO later = profile("Skills", "N/A", "java", "Engleză", "B2");
+
+		CandidateProfileDTO merged = CandidateProfileMerger.merge(List.of(header, later));
+
+		assertEquals("Ion", merged.getFirstName());
+		assertEquals("ion@example.com", merged.getEmail());
+		assertEquals("N/A", merged.getAddress());
+		assertEquals(1, merged.getSkills().size());
+		assertEquals(1, merged.getLanguages().size());
+		assertEquals("B2", merged.getLanguages().get(0).getLevel());
+	}
+
+	private static CandidateProfileDTO profile(String firstName, String email, String skill, String language, String level) {
+		CandidateProfileDTO dto = new CandidateProfileDTO();
+		dto.setFirstName(firstName);
+		dto.setEmail(email);
+		dto.setAddress("N/A");
+		CandidateProfileDTO.SkillDTO skillDto = new CandidateProfileDTO.SkillDTO();
+		skillDto.setName(skill);
+		dto.setSkills(List.of(skillDto));
+		CandidateProfileDTO.LanguageDTO languageDto = new CandidateProfileDTO.LanguageDTO();
+		languageDto.setLanguage(language);
+		languageDto.setLevel(level);
+		dto.setLanguages(List.of(languageDto));
+		return dto;
+	}
+}
@@ -0,0 +1,59 @@
+package org.rocman.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtUtilTest {
+
+	private static final String SECRET = Base64.getEncoder()
+			.encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+	private static final String OTHER_SECRET = Base64.getEncoder()
+			.encodeToString("fedcba9876543210fedcba9876543210".getBytes());
+
+	private JwtUtil jwtUtil(String secret, long expirationMs, int cacheEntries) {
+		JwtUtil jwtUtil = new JwtUtil(secret, cacheEntries);
+		ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", expirationMs);
+		return jwtUtil;
+	}
+
+	@Test
+	void parseTokenReturnsSubjectForValidToken() {
+		JwtUtil jwtUtil = jwtUtil(SECRET, 60_000, 100);
+		String token = jwtUtil.generateToken("jane@example.com");
+
+		JwtUtil.ParsedToken first = jwtUtil.parseToken(token);
+		JwtUtil.ParsedToken cached = jwtUtil.parseToken(token);
+
+		assertEquals(JwtUtil.TokenValidationStatus.VALID, first.status());
+		assertEquals("jane@example.com", first.subject());
+		assertEquals(first, cached);
+	}
+
+	@Test
+	void parseTokenRejectsForeignSignature() {
+		String token = jwtUtil(OTHER_SECRET, 60_000, 100).generateToken("jane@example.com");
+
+		JwtUtil.ParsedToken parsed = jwtUtil(SECRET, 60_000, 100).parseToken(token);
+
+		assertEquals(JwtUtil.TokenValidationStatus.INVALID_SIGNATURE, parsed.status());
+		assertNull(parsed.subject());
+	}
+
+	@Test
+	void parseTokenReportsExpiredToken() {
+		JwtUtil jwtUtil = jwtUtil(SECRET, -1_000, 0);
+		String token = jwtUtil.generateToken("jane@example.com");
+
+		assertEquals(JwtUtil.TokenValidationStatus.EXPIRED, jwtUtil.parseToken(token).status());
+	}
+
+	@Test
+	void parseTokenReportsEmptyToken() {
+		assertEquals(JwtUtil.TokenValidationStatus.EMPTY, jwtUtil(SECRET, 60_000, 100).parseToken(" ").status());
+	}
+}
@@ -0,0 +1,37 @@
+package org.rocman.candidate.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LanguageDetectionUtilTest {
+
+	@Test
+	void cyrillicTextIsRussian() {
+		assertEquals(LanguageDetectionUtil.RUSSIAN, LanguageDetectionUtil.detect(
+				"Опыт работы: Java разработчик в компании Endava, 2019 - настоящее время. Образование: УТМ."));
+	}
+
+	@Test
+	void romanianDiacriticsAndStopWordsAreRomanian() {
+		assertEquals(LanguageDetectionUtil.ROMANIAN, LanguageDetectionUtil.detect(
+				"Experiență profesională: dezvoltator Java la Endava din 2019 până în prezent. "
+						+ "Competențe: Spring Boot și PostgreSQL."));
+	}
+
+	@Test
+	void frenchStopWordsAndAccentsAreFrench() {
+		assertEquals(LanguageDetectionUtil.FRENCH, LanguageDetectionUtil.detect(
+				"Expérience professionnelle : développeur Java chez Endava depuis 2019, responsable des "
+						+ "services de paiement et de la formation des nouveaux collègues."));
+	}
+
+	@Test
+	void englishAndUnknownTextFallBackToEnglish() {
+		assertEquals(LanguageDetectionUtil.ENGLISH, LanguageDetectionUtil.detect(
+				"Experience: Java developer at Endava since 2019, responsible for the payment services."));
+		assertEquals(LanguageDetectionUtil.ENGLISH, LanguageDetectionUtil.detect("Java Kotlin Docker"));
+		assertEquals(LanguageDetectionUtil.ENGLISH, LanguageDetectionUtil.detect("  "));
+		assertEquals(LanguageDetectionUtil.ENGLISH, LanguageDetectionUtil.detect(null));
+	}
+}
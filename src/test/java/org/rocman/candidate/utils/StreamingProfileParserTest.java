@@ -0,0 +1,77 @@
+package org.rocman.candidate.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.rocman.candidate.dtos.CandidateProfileDTO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingProfileParserTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private StreamingProfileParser feedInPieces(String content, int pieceChars) {
+		StreamingProfileParser parser = new StreamingProfileParser(objectMapper);
+		for (int start = 0; start < content.length(); start += pieceChars) {
+			parser.feed(content.substring(start, Math.min(content.length(), start + pieceChars)));
+		}
+		return parser;
+	}
+
+	@Test
+	void parsesStreamedJsonSurroundedByProse() {
+		String content = "Sure! Here is the profile:\n```json\n"
+				+ "{\"email\": \"ion@example.com\", \"firstName\": \"Ion\", \"extra\": {\"a\": [1]},"
+				+ " \"skills\": [\"Java\", {\"name\": \"SQL\"}], \"languages\": [{\"language\": \"Română\", \"level\": \"C2\"}]}"
+				+ "\n```\nLet me know if you need anything else.";
+
+		StreamingProfileParser parser = feedInPieces(content, 7);
+		CandidateProfileDTO profile = parser.finish();
+
+		assertTrue(parser.isComplete());
+		assertTrue(parser.isRecovered());
+		assertEquals("ion@example.com", profile.getEmail());
+		assertEquals("N/A", profile.getPhone());
+		assertEquals(2, profile.getSkills().size());
+		assertEquals("Română", profile.getLanguages().get(0).getLanguage());
+		assertTrue(profile.getEducation().isEmpty());
+	}
+
+	@Test
+	void dropsFieldsThatDoNotMatchTheSchema() {
+		String content = "{\"email\": \"not an email\", \"lastName\": {\"x\": 1}, \"phone\": 37369123456,"
+				+ " \"education\": \"UTM\", \"experience\": [\"Endava\", {\"title\": \"Dev\", \"company\": \"Endava\"}]}";
+
+		StreamingProfileParser parser = feedInPieces(content, 5);
+		CandidateProfileDTO profile = parser.finish();
+
+		assertEquals("N/A", profile.getEmail());
+		assertEquals("N/A", profile.getLastName());
+		assertEquals("37369123456", profile.getPhone());
+		assertTrue(profile.getEducation().isEmpty());
+		assertEquals(1, profile.getExperience().size());
+		assertEquals(4, parser.invalidFields());
+	}
+
+	@Test
+	void keepsCompletedFieldsOfTruncatedResponse() {
+		StreamingProfileParser parser = feedInPieces("{\"firstName\": \"Ion\", \"skills\": [{\"name\": \"Ja", 4);
+		CandidateProfileDTO profile = parser.finish();
+
+		assertFalse(parser.isComplete());
+		assertEquals("Ion", profile.getFirstName());
+		assertTrue(profile.getSkills().isEmpty());
+	}
+
+	@Test
+	void recoversFromMalformedStreamAndRejectsText() {
+		StreamingProfileParser parser = feedInPieces("Output {as requested}: {\"firstName\": \"Ion\"}", 6);
+		assertEquals("Ion", parser.finish().getFirstName());
+
+		assertThrows(IllegalStateException.class,
+				() -> feedInPieces("I could not find a CV in this text.", 6).finish());
+	}
+}